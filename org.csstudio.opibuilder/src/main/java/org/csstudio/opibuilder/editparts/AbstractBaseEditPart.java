@@ -29,8 +29,10 @@ import static org.csstudio.opibuilder.model.AbstractWidgetModel.PROP_YPOS;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 
 import org.csstudio.opibuilder.OPIBuilderPlugin;
@@ -39,6 +41,7 @@ import org.csstudio.opibuilder.editpolicies.WidgetComponentEditPolicy;
 import org.csstudio.opibuilder.editpolicies.WidgetNodeEditPolicy;
 import org.csstudio.opibuilder.model.AbstractWidgetModel;
 import org.csstudio.opibuilder.model.ConnectionModel;
+import org.csstudio.opibuilder.properties.AbstractWidgetProperty;
 import org.csstudio.opibuilder.properties.IWidgetPropertyChangeHandler;
 import org.csstudio.opibuilder.properties.WidgetPropertyChangeListener;
 import org.csstudio.opibuilder.script.ScriptData;
@@ -99,6 +102,12 @@ public abstract class AbstractBaseEditPart extends AbstractGraphicalEditPart imp
         }
     }
 
+    /**
+     * Properties that decide whether widgets are showing. A change may reveal this or other widgets.
+     */
+    private static final Set<String> ALWAYS_APPLIED_PROPERTIES = Set.of(PROP_VISIBLE, PROP_XPOS, PROP_YPOS,
+            PROP_WIDTH, PROP_HEIGHT);
+
     private boolean isSelectable = true;
 
     protected Map<String, WidgetPropertyChangeListener> propertyListenerMap;
@@ -123,6 +132,12 @@ public abstract class AbstractBaseEditPart extends AbstractGraphicalEditPart imp
 
     private boolean hasStartedPVs = false;
 
+    /**
+     * Latest update per property, kept while the widget is not showing. Null while no updates are kept.
+     */
+    private Map<AbstractWidgetProperty<?>, Runnable> deferredUpdates;
+    private final Object deferredUpdatesLock = new Object();
+
     public AbstractBaseEditPart() {
         propertyListenerMap = new HashMap<>();
     }
@@ -171,7 +186,8 @@ public abstract class AbstractBaseEditPart extends AbstractGraphicalEditPart imp
                             pvArray[i] = pvMap.get(pvName);
                         } else {
                             try {
-                                var pv = BOYPVFactory.createPV(pvName, 2);
+                                // Not coalesced, so that a script runs once per batch of updates
+                                var pv = BOYPVFactory.createPV(pvName, 0);
                                 pvMap.put(pvName, pv);
                                 addToConnectionHandler(pvName, pv);
                                 pvArray[i] = pv;
@@ -288,7 +304,111 @@ public abstract class AbstractBaseEditPart extends AbstractGraphicalEditPart imp
             }
             propertyListenerMap.clear();
             // propertyListenerMap = null;
+            synchronized (deferredUpdatesLock) {
+                deferredUpdates = null;
+            }
+        }
+    }
+
+    /**
+     * Keeps an update of a property for later, if this widget is not showing in run mode, and the property only has
+     * {@link #setFigurePropertyChangeHandler(String, IWidgetPropertyChangeHandler) figure only} handlers. It then
+     * replaces any earlier update of the same property, and is applied once the widget is showing again. Must be called
+     * on the UI thread.
+     *
+     * @param property
+     *            the changed property
+     * @param update
+     *            the task that applies the change to the figure
+     * @return true if the update was kept for later, false if it should be applied now.
+     */
+    public boolean deferUpdateWhileHidden(AbstractWidgetProperty<?> property, Runnable update) {
+        if (executionMode != ExecutionMode.RUN_MODE) {
+            return false;
+        }
+        if (ALWAYS_APPLIED_PROPERTIES.contains(property.getPropertyID())) {
+            // May reveal this or other widgets, for example when switching tabs
+            VisibilityTracker.widgetMoved(this);
+            return false;
+        }
+        if (!isDeferrable(property) || isShowingOnScreen()) {
+            return false;
+        }
+        synchronized (deferredUpdatesLock) {
+            if (deferredUpdates == null) {
+                deferredUpdates = new LinkedHashMap<>();
+                VisibilityTracker.get(this).track(this);
+            }
+            deferredUpdates.remove(property);
+            deferredUpdates.put(property, update);
         }
+        return true;
+    }
+
+    /**
+     * Like {@link #deferUpdateWhileHidden(AbstractWidgetProperty, Runnable)}, but only if this widget is already known
+     * to be hidden, because it has other updates kept for later. This does not check whether the widget is showing, and
+     * may be called on any thread.
+     *
+     * @return true if the update was kept for later, false if it should be passed to the UI thread.
+     */
+    public boolean deferUpdateIfKnownHidden(AbstractWidgetProperty<?> property, Runnable update) {
+        if (executionMode != ExecutionMode.RUN_MODE || !isDeferrable(property)) {
+            return false;
+        }
+        synchronized (deferredUpdatesLock) {
+            if (deferredUpdates == null) {
+                return false;
+            }
+            deferredUpdates.remove(property);
+            deferredUpdates.put(property, update);
+        }
+        return true;
+    }
+
+    private boolean isDeferrable(AbstractWidgetProperty<?> property) {
+        var listener = propertyListenerMap.get(property.getPropertyID());
+        return listener != null && listener.isDeferrable();
+    }
+
+    /**
+     * Applies the updates that were kept while this widget was not showing.
+     */
+    void applyDeferredUpdates() {
+        Map<AbstractWidgetProperty<?>, Runnable> updates;
+        synchronized (deferredUpdatesLock) {
+            updates = deferredUpdates;
+            deferredUpdates = null;
+        }
+        if (updates != null) {
+            for (var update : updates.values()) {
+                try {
+                    update.run();
+                } catch (Exception e) {
+                    OPIBuilderPlugin.getLogger().log(Level.WARNING, "Failed to update widget " + this, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the figure of this widget can currently be seen: its viewer is visible, neither the figure nor any of its
+     * ancestors is hidden, and the figure is not empty or scrolled out of view. Must be called on the UI thread.
+     */
+    public boolean isShowingOnScreen() {
+        var viewer = getViewer();
+        var control = viewer != null ? viewer.getControl() : null;
+        if (control == null || control.isDisposed() || !control.isVisible()) {
+            return false;
+        }
+        var figure = getFigure();
+        if (!figure.isShowing() || figure.getParent() == null) {
+            return false;
+        }
+        var bounds = figure.getBounds().getCopy();
+        figure.getParent().translateToAbsolute(bounds);
+        var size = control.getSize();
+        return !bounds.isEmpty() && bounds.intersects(new Rectangle(0, 0, size.x, size.y));
     }
 
     /**
@@ -566,30 +686,30 @@ public abstract class AbstractBaseEditPart extends AbstractGraphicalEditPart imp
         getWidgetModel().getProperty(PROP_TGT_CONNECTIONS)
                 .addPropertyChangeListener(evt -> refreshTargetConnections());
 
-        setPropertyChangeHandler(PROP_COLOR_BACKGROUND, (oldValue, newValue, figure) -> {
+        setFigurePropertyChangeHandler(PROP_COLOR_BACKGROUND, (oldValue, newValue, figure) -> {
             figure.setBackgroundColor(CustomMediaFactory.getInstance().getColor(((OPIColor) newValue).getRGBValue()));
             return true;
         });
 
-        setPropertyChangeHandler(PROP_COLOR_FOREGROUND, (oldValue, newValue, figure) -> {
+        setFigurePropertyChangeHandler(PROP_COLOR_FOREGROUND, (oldValue, newValue, figure) -> {
             figure.setForegroundColor(CustomMediaFactory.getInstance().getColor(((OPIColor) newValue).getRGBValue()));
             return true;
         });
 
-        setPropertyChangeHandler(PROP_FONT, (oldValue, newValue, figure) -> {
+        setFigurePropertyChangeHandler(PROP_FONT, (oldValue, newValue, figure) -> {
             figure.setFont(((OPIFont) newValue).getSWTFont());
             return false;
         });
 
-        setPropertyChangeHandler(PROP_BORDER_STYLE, (oldValue, newValue, figure) -> {
+        setFigurePropertyChangeHandler(PROP_BORDER_STYLE, (oldValue, newValue, figure) -> {
             setFigureBorder(calculateBorder());
             return true;
         });
-        setPropertyChangeHandler(PROP_BORDER_COLOR, (oldValue, newValue, figure) -> {
+        setFigurePropertyChangeHandler(PROP_BORDER_COLOR, (oldValue, newValue, figure) -> {
             setFigureBorder(calculateBorder());
             return true;
         });
-        setPropertyChangeHandler(PROP_BORDER_WIDTH, (oldValue, newValue, figure) -> {
+        setFigurePropertyChangeHandler(PROP_BORDER_WIDTH, (oldValue, newValue, figure) -> {
             setFigureBorder(calculateBorder());
             return true;
         });
@@ -602,7 +722,7 @@ public abstract class AbstractBaseEditPart extends AbstractGraphicalEditPart imp
             }
             return true;
         });
-        setPropertyChangeHandler(PROP_FONT, (oldValue, newValue, figure) -> {
+        setFigurePropertyChangeHandler(PROP_FONT, (oldValue, newValue, figure) -> {
             if (figure.getBorder() instanceof LabeledBorder) {
                 figure.setBorder(
                         BorderFactory.createBorder(getWidgetModel().getBorderStyle(), getWidgetModel().getBorderWidth(),
@@ -739,7 +859,8 @@ public abstract class AbstractBaseEditPart extends AbstractGraphicalEditPart imp
     }
 
     /**
-     * Registers a property change handler for the specified property id.
+     * Registers a property change handler for the specified property id. The handler is called on each change, also
+     * while the widget is not showing.
      *
      * @param propertyId
      *            the property id
@@ -753,6 +874,26 @@ public abstract class AbstractBaseEditPart extends AbstractGraphicalEditPart imp
         }
     }
 
+    /**
+     * Registers a property change handler that only changes the appearance of the figure, for example its colors. In
+     * run mode, while the widget is not showing, changes of a property that only has such handlers are not applied.
+     * Only the latest change is applied once the widget is showing again.
+     * <p>
+     * Do not use this for handlers that change anything that can be read back, such as model properties, PVs, or the
+     * figure state that {@link #getValue()} returns.
+     *
+     * @param propertyId
+     *            the property id
+     * @param handler
+     *            the property change handler
+     */
+    public void setFigurePropertyChangeHandler(String propertyId, IWidgetPropertyChangeHandler handler) {
+        var listener = propertyListenerMap.get(propertyId);
+        if (listener != null) {
+            listener.addHandler(handler, true);
+        }
+    }
+
     /**
      * Set the property value of the widget. If the new value is same as the old value, it will be ignored.
      *
@@ -22,17 +22,15 @@ import java.beans.PropertyChangeListener;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
-import org.csstudio.java.thread.ExecutionService;
 import org.csstudio.opibuilder.OPIBuilderPlugin;
 import org.csstudio.opibuilder.model.AbstractWidgetModel;
 import org.csstudio.opibuilder.model.IPVWidgetModel;
 import org.csstudio.opibuilder.preferences.PreferencesHelper;
 import org.csstudio.opibuilder.properties.IWidgetPropertyChangeHandler;
+import org.csstudio.opibuilder.util.AlarmPulseClock;
 import org.csstudio.opibuilder.util.AlarmRepresentationScheme;
 import org.csstudio.opibuilder.util.BOYPVFactory;
 import org.csstudio.opibuilder.util.ErrorHandlerUtil;
@@ -52,7 +50,6 @@ import org.eclipse.draw2d.geometry.Insets;
 import org.eclipse.gef.EditPart;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Cursor;
-import org.eclipse.swt.graphics.RGB;
 import org.yamcs.studio.data.IPV;
 import org.yamcs.studio.data.IPVListener;
 import org.yamcs.studio.data.VTypeHelper;
@@ -153,7 +150,7 @@ public class PVWidgetEditpartDelegate implements IPVWidgetEditpart {
     private ListenerList<ISetPVValueListener> setPVValueListeners;
     private ListenerList<AlarmSeverityListener> alarmSeverityListeners;
     private boolean isAlarmPulsing = false;
-    private ScheduledFuture<?> scheduledFuture;
+    private final AlarmPulseClock.Pulser pulser = this::pulse;
 
     private boolean pvsHaveBeenStarted = false;
 
@@ -346,12 +343,12 @@ public class PVWidgetEditpartDelegate implements IPVWidgetEditpart {
     }
 
     public void registerBasePropertyChangeHandlers() {
-        editpart.setPropertyChangeHandler(PROP_BORDER_ALARMSENSITIVE, (oldValue, newValue, figure) -> {
+        editpart.setFigurePropertyChangeHandler(PROP_BORDER_ALARMSENSITIVE, (oldValue, newValue, figure) -> {
             editpart.setFigureBorder(editpart.calculateBorder());
             return true;
         });
 
-        editpart.setPropertyChangeHandler(PROP_PVVALUE, (oldValue, newValue, figure) -> {
+        editpart.setFigurePropertyChangeHandler(PROP_PVVALUE, (oldValue, newValue, figure) -> {
             // No valid value is given. Do nothing.
             if (newValue == null || !(newValue instanceof VType)) {
                 return false;
@@ -499,28 +496,21 @@ public class PVWidgetEditpartDelegate implements IPVWidgetEditpart {
     }
 
     public synchronized void stopPulsing() {
-        if (scheduledFuture != null) {
-            // stop the pulsing runnable
-            scheduledFuture.cancel(true);
-            scheduledFuture = null;
-        }
+        AlarmPulseClock.getInstance().unregister(pulser);
     }
 
     public synchronized void startPulsing() {
-        stopPulsing();
-        Runnable pulsingTask = () -> UIBundlingThread.getInstance().addRunnable(() -> {
-            synchronized (PVWidgetEditpartDelegate.this) {
-                // Change the colours of all alarm sensitive components
-                if (isBackColorAlarmSensitive) {
-                    editpart.getFigure().setBackgroundColor(calculateBackColor());
-                }
-                if (isForeColorAlarmSensitive) {
-                    editpart.getFigure().setForegroundColor(calculateForeColor());
-                }
-            }
-        });
-        scheduledFuture = ExecutionService.getInstance().getScheduledExecutorService().scheduleAtFixedRate(pulsingTask,
-                PreferencesHelper.getGUIRefreshCycle(), PreferencesHelper.getGUIRefreshCycle(), TimeUnit.MILLISECONDS);
+        AlarmPulseClock.getInstance().register(pulser);
+    }
+
+    private synchronized void pulse(long time) {
+        // Change the colours of all alarm sensitive components
+        if (isBackColorAlarmSensitive) {
+            editpart.getFigure().setBackgroundColor(calculateAlarmColor(true, saveBackColor, time));
+        }
+        if (isForeColorAlarmSensitive) {
+            editpart.getFigure().setForegroundColor(calculateAlarmColor(true, saveForeColor, time));
+        }
     }
 
     private void saveFigureOKStatus(IFigure figure) {
@@ -581,6 +571,10 @@ public class PVWidgetEditpartDelegate implements IPVWidgetEditpart {
     }
 
     public Color calculateAlarmColor(boolean isSensitive, Color saveColor) {
+        return calculateAlarmColor(isSensitive, saveColor, System.currentTimeMillis());
+    }
+
+    private Color calculateAlarmColor(boolean isSensitive, Color saveColor, long time) {
         if (!isSensitive) {
             return saveColor;
         } else {
@@ -588,17 +582,13 @@ public class PVWidgetEditpartDelegate implements IPVWidgetEditpart {
             if (alarmColor != null) {
                 // Alarm severity is either "Major", "Minor" or "Invalid.
                 if (isAlarmPulsing && (alarmSeverity == AlarmSeverity.MINOR || alarmSeverity == AlarmSeverity.MAJOR)) {
-                    var alpha = 0.3;
                     int period;
                     if (alarmSeverity == AlarmSeverity.MINOR) {
                         period = PreferencesHelper.getPulsingAlarmMinorPeriod();
                     } else {
                         period = PreferencesHelper.getPulsingAlarmMajorPeriod();
                     }
-                    alpha += Math.abs(System.currentTimeMillis() % period - period / 2) / (double) period;
-                    alarmColor = new RGB((int) (saveColor.getRed() * alpha + alarmColor.red * (1 - alpha)),
-                            (int) (saveColor.getGreen() * alpha + alarmColor.green * (1 - alpha)),
-                            (int) (saveColor.getBlue() * alpha + alarmColor.blue * (1 - alpha)));
+                    return AlarmPulseClock.getInstance().getPulseColor(saveColor, alarmColor, period, time);
                 }
                 return CustomMediaFactory.getInstance().getColor(alarmColor);
             } else {
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.csstudio.opibuilder.editparts;
+
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.draw2d.FigureCanvas;
+import org.eclipse.draw2d.Viewport;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Listener;
+
+/**
+ * Tracks the widgets of a viewer that have property updates pending because they were not showing.
+ * <p>
+ * The tracked widgets are checked again only on events that can reveal a widget: the viewer control or one of its
+ * ancestors is shown or resized (switching tabs, moving a sash, restoring a view), the viewer or a scrollable container
+ * is scrolled, or a widget changes its visibility, position or size (which includes switching the tab of a tabbed
+ * container). Widgets that are showing then apply their pending updates.
+ */
+class VisibilityTracker {
+
+    private static final String KEY = VisibilityTracker.class.getName();
+
+    private final Display display;
+    private final Set<AbstractBaseEditPart> hiddenParts = new LinkedHashSet<>();
+    private final Set<Viewport> hookedViewports = new HashSet<>();
+    private boolean checkScheduled;
+
+    private final Listener controlListener = event -> scheduleCheck();
+    private final PropertyChangeListener scrollListener = evt -> scheduleCheck();
+
+    private VisibilityTracker(Control control) {
+        display = control.getDisplay();
+
+        // Ancestors outlive the viewer, so unhook from them when it goes
+        var ancestors = new ArrayList<Control>();
+        for (var c = control; c != null; c = c.getParent()) {
+            c.addListener(SWT.Show, controlListener);
+            c.addListener(SWT.Resize, controlListener);
+            ancestors.add(c);
+        }
+        control.addDisposeListener(e -> unhook(ancestors));
+
+        if (control instanceof FigureCanvas) {
+            hookViewport(((FigureCanvas) control).getViewport());
+        }
+    }
+
+    /**
+     * Returns the tracker of the viewer of the given editpart. Must be called on the UI thread.
+     */
+    static VisibilityTracker get(AbstractBaseEditPart editpart) {
+        var viewer = editpart.getViewer();
+        var tracker = (VisibilityTracker) viewer.getProperty(KEY);
+        if (tracker == null) {
+            tracker = new VisibilityTracker(viewer.getControl());
+            viewer.setProperty(KEY, tracker);
+        }
+        return tracker;
+    }
+
+    /**
+     * Informs the tracker of the viewer of the given editpart, if any, that the editpart changed its visibility,
+     * position or size, which may reveal other widgets. Must be called on the UI thread.
+     */
+    static void widgetMoved(AbstractBaseEditPart editpart) {
+        var viewer = editpart.getViewer();
+        var tracker = viewer != null ? (VisibilityTracker) viewer.getProperty(KEY) : null;
+        if (tracker != null) {
+            tracker.scheduleCheck();
+        }
+    }
+
+    void track(AbstractBaseEditPart editpart) {
+        hiddenParts.add(editpart);
+        for (var parent = editpart.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent instanceof AbstractScrollableEditpart) {
+                var scrollPane = ((AbstractScrollableEditpart) parent).getScrollPane();
+                if (scrollPane != null) {
+                    hookViewport(scrollPane.getViewport());
+                }
+            }
+        }
+    }
+
+    private void hookViewport(Viewport viewport) {
+        if (viewport != null && hookedViewports.add(viewport)) {
+            viewport.getHorizontalRangeModel().addPropertyChangeListener(scrollListener);
+            viewport.getVerticalRangeModel().addPropertyChangeListener(scrollListener);
+        }
+    }
+
+    private void unhook(List<Control> ancestors) {
+        for (var c : ancestors) {
+            if (!c.isDisposed()) {
+                c.removeListener(SWT.Show, controlListener);
+                c.removeListener(SWT.Resize, controlListener);
+            }
+        }
+        for (var viewport : hookedViewports) {
+            viewport.getHorizontalRangeModel().removePropertyChangeListener(scrollListener);
+            viewport.getVerticalRangeModel().removePropertyChangeListener(scrollListener);
+        }
+        hookedViewports.clear();
+        hiddenParts.clear();
+    }
+
+    private void scheduleCheck() {
+        // Later: the revealing change may not be fully laid out yet, and
+        // applying updates while painting would change figures.
+        if (!hiddenParts.isEmpty() && !checkScheduled) {
+            checkScheduled = true;
+            display.asyncExec(this::checkHiddenParts);
+        }
+    }
+
+    private void checkHiddenParts() {
+        checkScheduled = false;
+        for (var editpart : new ArrayList<>(hiddenParts)) {
+            if (!editpart.isActive()) {
+                hiddenParts.remove(editpart);
+            } else if (editpart.isShowingOnScreen()) {
+                hiddenParts.remove(editpart);
+                editpart.applyDeferredUpdates();
+            }
+        }
+    }
+}
@@ -28,6 +28,14 @@ public class WidgetPropertyChangeListener implements PropertyChangeListener {
     private AbstractWidgetProperty<?> widgetProperty;
     private List<IWidgetPropertyChangeHandler> handlers;
 
+    // Number of handlers that must run also while the widget is hidden
+    private volatile int immediateHandlerCount;
+
+    // Value that the handlers last applied to the figure. Intermediate changes
+    // may be skipped (ignorable tasks, deferred updates of hidden widgets), so
+    // this is not necessarily the old value of the event that is applied.
+    private Object appliedValue;
+
     /**
      * Constructor.
      *
@@ -38,6 +46,7 @@ public class WidgetPropertyChangeListener implements PropertyChangeListener {
         this.editpart = editpart;
         widgetProperty = property;
         handlers = new ArrayList<>();
+        appliedValue = property.getPropertyValue(); // As shown by the new figure
     }
 
     @Override
@@ -48,13 +57,22 @@ public class WidgetPropertyChangeListener implements PropertyChangeListener {
                 if (editpart == null || !editpart.isActive()) {
                     return;
                 }
+                if (editpart.deferUpdateWhileHidden(widgetProperty, this)) {
+                    return;
+                }
+                var oldValue = appliedValue;
+                appliedValue = evt.getNewValue();
                 for (var h : handlers) {
                     var figure = editpart.getFigure();
-                    h.handleChange(evt.getOldValue(), evt.getNewValue(), figure);
+                    h.handleChange(oldValue, evt.getNewValue(), figure);
 
                 }
             }
         };
+        // No need to go through the UI thread for a widget that is already known to be hidden
+        if (editpart.deferUpdateIfKnownHidden(widgetProperty, runnable)) {
+            return;
+        }
         var display = editpart.getViewer().getControl().getDisplay();
         var task = new WidgetIgnorableUITask(widgetProperty, runnable, display);
 
@@ -65,11 +83,34 @@ public class WidgetPropertyChangeListener implements PropertyChangeListener {
      * Add handler, which is informed when a property changed.
      */
     public void addHandler(IWidgetPropertyChangeHandler handler) {
+        addHandler(handler, false);
+    }
+
+    /**
+     * Add handler, which is informed when a property changed.
+     *
+     * @param figureOnly
+     *            whether the handler only changes the appearance of the figure, so that it can be postponed while the
+     *            widget is hidden
+     */
+    public void addHandler(IWidgetPropertyChangeHandler handler, boolean figureOnly) {
         assert handler != null;
         handlers.add(handler);
+        if (!figureOnly) {
+            immediateHandlerCount++;
+        }
     }
 
     public void removeAllHandlers() {
         handlers.clear();
+        immediateHandlerCount = 0;
+    }
+
+    /**
+     * Whether changes can be postponed while the widget is hidden. This is only the case if all handlers are figure
+     * only.
+     */
+    public boolean isDeferrable() {
+        return immediateHandlerCount == 0 && !handlers.isEmpty();
     }
 }
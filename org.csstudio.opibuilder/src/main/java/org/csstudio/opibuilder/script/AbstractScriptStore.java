@@ -11,6 +11,7 @@ package org.csstudio.opibuilder.script;
 
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Level;
@@ -27,6 +28,7 @@ import org.eclipse.gef.EditPart;
 import org.eclipse.gef.EditPartListener;
 import org.eclipse.osgi.util.NLS;
 import org.yamcs.studio.data.IPV;
+import org.yamcs.studio.data.IPVBatchListener;
 import org.yamcs.studio.data.IPVListener;
 import org.yamcs.studio.script.ColorFontUtil;
 import org.yamcs.studio.script.ConsoleUtil;
@@ -157,7 +159,7 @@ public abstract class AbstractScriptStore implements IScriptStore {
 
         pvListenerMap = new HashMap<>();
 
-        var suppressPVListener = new IPVListener() {
+        var suppressPVListener = new IPVBatchListener() {
             @Override
             public synchronized void valueChanged(IPV pv) {
                 if (triggerSuppressed && checkPVsConnected(scriptData, pvArray)) {
@@ -165,9 +167,14 @@ public abstract class AbstractScriptStore implements IScriptStore {
                     triggerSuppressed = false;
                 }
             }
+
+            @Override
+            public void valuesChanged(Collection<IPV> pvs) {
+                valueChanged(getLast(pvs));
+            }
         };
 
-        var triggerPVListener = new IPVListener() {
+        var triggerPVListener = new IPVBatchListener() {
             @Override
             public synchronized void valueChanged(IPV pv) {
                 // execute script only if all input pvs are connected
@@ -180,6 +187,12 @@ public abstract class AbstractScriptStore implements IScriptStore {
                 }
                 executeScriptInUIThread(pv);
             }
+
+            @Override
+            public void valuesChanged(Collection<IPV> pvs) {
+                // Run the script only once for the whole batch
+                valueChanged(getLast(pvs));
+            }
         };
 
         // register pv listener
@@ -199,6 +212,14 @@ public abstract class AbstractScriptStore implements IScriptStore {
         }
     }
 
+    private static IPV getLast(Collection<IPV> pvs) {
+        IPV last = null;
+        for (var pv : pvs) {
+            last = pv;
+        }
+        return last;
+    }
+
     protected abstract void initScriptEngine() throws Exception;
 
     protected abstract void compileString(String string) throws Exception;
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.csstudio.opibuilder.util;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+import org.csstudio.opibuilder.OPIBuilderPlugin;
+import org.csstudio.ui.util.CustomMediaFactory;
+import org.csstudio.ui.util.thread.FrameScheduler;
+import org.csstudio.ui.util.thread.FrameScheduler.FrameSource;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.RGB;
+
+/**
+ * Single clock for all widgets with a pulsing alarm colour.
+ * <p>
+ * While any widget is pulsing, the clock ticks once per GUI refresh cycle and updates all of them in one batch on the
+ * UI thread, with the same time, so that they pulse in phase. The blended colours of a pulse are computed once per
+ * combination of normal colour, alarm colour and period.
+ */
+public final class AlarmPulseClock implements FrameSource {
+
+    /**
+     * A widget with a pulsing alarm colour.
+     */
+    public interface Pulser {
+
+        /**
+         * Updates the colours of the widget. Called on the UI thread.
+         *
+         * @param time
+         *            time of this tick, in milliseconds
+         */
+        void pulse(long time);
+    }
+
+    /** Number of distinct colours in one pulse period */
+    private static final int STEPS = 64;
+
+    private static final AlarmPulseClock instance = new AlarmPulseClock();
+
+    private final Set<Pulser> pulsers = ConcurrentHashMap.newKeySet();
+
+    // Blend tables by period, and then by alarm and normal colour
+    private final Map<Integer, Map<Long, Color[]>> blendTables = new ConcurrentHashMap<>();
+
+    // Whether a tick is requested or in progress. There is never more than one.
+    private final AtomicBoolean ticking = new AtomicBoolean();
+
+    private AlarmPulseClock() {
+    }
+
+    public static AlarmPulseClock getInstance() {
+        return instance;
+    }
+
+    /**
+     * Starts calling the given pulser on each tick.
+     */
+    public void register(Pulser pulser) {
+        pulsers.add(pulser);
+        if (ticking.compareAndSet(false, true)) {
+            FrameScheduler.getInstance().requestFrame(this);
+        }
+    }
+
+    public void unregister(Pulser pulser) {
+        pulsers.remove(pulser);
+    }
+
+    @Override
+    public int getFrameInterval() {
+        return GUIRefreshThread.getInstance(true).getGUIRefreshCycle();
+    }
+
+    @Override
+    public void processFrame() {
+        if (pulsers.isEmpty()) {
+            stopTicking();
+            return;
+        }
+        var display = DisplayUtils.getDisplay();
+        if (display == null || display.isDisposed()) {
+            ticking.set(false);
+            return;
+        }
+        display.asyncExec(() -> {
+            var time = System.currentTimeMillis();
+            for (var pulser : new ArrayList<>(pulsers)) {
+                try {
+                    pulser.pulse(time);
+                } catch (Exception e) {
+                    OPIBuilderPlugin.getLogger().log(Level.WARNING, "Failed to pulse alarm colour", e);
+                }
+            }
+            // Next tick only after this one was processed, so that ticks never pile up
+            if (!pulsers.isEmpty()) {
+                FrameScheduler.getInstance().requestFrame(this);
+            } else {
+                stopTicking();
+            }
+        });
+    }
+
+    /**
+     * Stops ticking until a pulser registers again.
+     */
+    private void stopTicking() {
+        ticking.set(false);
+        // A pulser may have registered while still ticking, without requesting a frame
+        if (!pulsers.isEmpty() && ticking.compareAndSet(false, true)) {
+            FrameScheduler.getInstance().requestFrame(this);
+        }
+    }
+
+    /**
+     * Returns the colour of a pulsing alarm at the given time. The colour moves between the alarm colour (mostly) and
+     * the normal colour of the widget, and back, once per period.
+     *
+     * @param normalColor
+     *            colour of the widget when not in alarm
+     * @param alarmColor
+     *            colour of the alarm severity
+     * @param period
+     *            pulse period in milliseconds
+     * @param time
+     *            time in milliseconds
+     */
+    public Color getPulseColor(Color normalColor, RGB alarmColor, int period, long time) {
+        var normal = normalColor.getRGB();
+        var colorKey = ((long) pack(alarmColor) << 24) | pack(normal);
+        var table = blendTables.computeIfAbsent(period, x -> new ConcurrentHashMap<>())
+                .computeIfAbsent(colorKey, x -> createBlendTable(normal, alarmColor, period));
+        var step = (int) ((time % period) * STEPS / period);
+        return table[step];
+    }
+
+    private static Color[] createBlendTable(RGB normal, RGB alarm, int period) {
+        var table = new Color[STEPS];
+        for (var i = 0; i < STEPS; i++) {
+            var t = (double) i * period / STEPS;
+            var alpha = 0.3 + Math.abs(t - period / 2) / period;
+            var rgb = new RGB((int) (normal.red * alpha + alarm.red * (1 - alpha)),
+                    (int) (normal.green * alpha + alarm.green * (1 - alpha)),
+                    (int) (normal.blue * alpha + alarm.blue * (1 - alpha)));
+            table[i] = CustomMediaFactory.getInstance().getColor(rgb);
+        }
+        return table;
+    }
+
+    private static int pack(RGB rgb) {
+        return (rgb.red << 16) | (rgb.green << 8) | rgb.blue;
+    }
+}
@@ -10,7 +10,6 @@
 package org.csstudio.opibuilder.util;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import org.csstudio.opibuilder.preferences.PreferencesHelper;
 import org.yamcs.studio.data.ExceptionHandler;
@@ -24,9 +23,9 @@ import org.yamcs.studio.data.PVFactory;
 public class BOYPVFactory {
 
     /**
-     * The default background thread for PV change event notification.
+     * The default background threads for PV change event notification. Events of any one PV remain ordered.
      */
-    private final static ExecutorService BOY_PV_THREAD = Executors.newSingleThreadExecutor();
+    private final static ExecutorService BOY_PV_THREAD = PVFactory.createNotificationExecutor("boy-pv-notification");
 
     private final static ExceptionHandler exceptionHandler = ex -> ErrorHandlerUtil
             .handleError("Error from pv connection layer: ", ex);
@@ -42,10 +41,10 @@ public class BOYPVFactory {
      * Create a PV based on PV connection layer preference.
      *
      * @param updateDuration
-     *            the fastest update duration.
+     *            the fastest update duration in milliseconds. Value updates that arrive faster are coalesced.
      */
     public static IPV createPV(String name, int updateDuration) throws Exception {
         var pvFactory = PVFactory.getInstance();
-        return pvFactory.createPV(name, false, BOY_PV_THREAD, exceptionHandler);
+        return pvFactory.createPV(name, false, BOY_PV_THREAD, exceptionHandler, updateDuration);
     }
 }
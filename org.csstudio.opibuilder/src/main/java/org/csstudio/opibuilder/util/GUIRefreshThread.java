@@ -9,20 +9,28 @@
  ********************************************************************************/
 package org.csstudio.opibuilder.util;
 
+import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.logging.Level;
 
 import org.csstudio.opibuilder.OPIBuilderPlugin;
 import org.csstudio.opibuilder.datadefinition.WidgetIgnorableUITask;
 import org.csstudio.opibuilder.preferences.PreferencesHelper;
+import org.csstudio.ui.util.thread.FrameScheduler;
+import org.csstudio.ui.util.thread.FrameScheduler.FrameSource;
 import org.eclipse.swt.widgets.Display;
 
 /**
  *
- * A singleton back thread which will help to execute tasks for OPI GUI refreshing. This thread sleeps for a time which
- * can be set in the preference page. It can help throttle the unnecessary repaint caused by fast PV value updating.
+ * A singleton which will help to execute tasks for OPI GUI refreshing. Tasks are processed by the {@link FrameScheduler}
+ * at most once per GUI refresh cycle, which can be set in the preference page. It can help throttle the unnecessary
+ * repaint caused by fast PV value updating.
+ * <p>
+ * The tasks of a refresh cycle are executed as a single frame on the UI thread. A frame stops when its time budget is
+ * used up, so that user input is still handled under heavy load. Remaining tasks are carried over to the next frame,
+ * unless a newer task for the same object was added in the meantime.
  */
-public final class GUIRefreshThread implements Runnable {
+public final class GUIRefreshThread implements FrameSource {
     /**
      * The singleton instance for Runtime, whose GUI refresh cycle is from preference.
      */
@@ -34,21 +42,16 @@ public final class GUIRefreshThread implements Runnable {
     private static GUIRefreshThread editingInstance;
 
     /**
-     * A LinkedHashset, which contains {@link WidgetIgnorableUITask}. It will be processed by this thread periodically.
+     * A LinkedHashset, which contains {@link WidgetIgnorableUITask}. It is processed in frames of the {@link FrameScheduler}.
      * Use hashset can help to improve the performance.
      */
     // private ConcurrentLinkedQueue<WidgetIgnorableUITask> tasksQueue;
     private LinkedHashSet<WidgetIgnorableUITask> tasksQueue;
-    private Thread thread;
 
-    private int guiRefreshCycle = 100;
-
-    private long start;
+    private volatile int guiRefreshCycle = 100;
 
     private volatile boolean asyncEmpty = true;
 
-    private Runnable resetAsyncEmpty;
-
     private Display rcpDisplay;
 
     private boolean isRuntime;
@@ -61,10 +64,7 @@ public final class GUIRefreshThread implements Runnable {
         // tasksQueue = new ConcurrentLinkedQueue<WidgetIgnorableUITask>();
         rcpDisplay = DisplayUtils.getDisplay();
         tasksQueue = new LinkedHashSet<>();
-        resetAsyncEmpty = () -> asyncEmpty = true;
         reLoadGUIRefreshCycle();
-        thread = new Thread(this, "OPI GUI Refresh Thread");
-        thread.start();
     }
 
     /**
@@ -110,32 +110,13 @@ public final class GUIRefreshThread implements Runnable {
     }
 
     @Override
-    public void run() {
-        boolean isEmpty;
-        while (true) {
-            synchronized (this) {
-                isEmpty = tasksQueue.isEmpty();
-            }
-            if (!isEmpty) {
-                start = System.currentTimeMillis();
-                rcpProcessQueue();
-
-                try {
-                    var current = System.currentTimeMillis();
-                    if (current - start < guiRefreshCycle) {
-                        Thread.sleep(guiRefreshCycle - (current - start));
-                    }
-                } catch (InterruptedException e) {
-                    // ignore
-                }
-            } else {
-                try {
-                    Thread.sleep(guiRefreshCycle);
-                } catch (InterruptedException e) {
-                    // ignore
-                }
-            }
-        }
+    public int getFrameInterval() {
+        return guiRefreshCycle;
+    }
+
+    @Override
+    public void processFrame() {
+        rcpProcessQueue();
     }
 
     /**
@@ -143,27 +124,69 @@ public final class GUIRefreshThread implements Runnable {
      */
     private void rcpProcessQueue() {
         // avoid add too many stuff to Display async queue.
+        // The running frame will request another one if needed.
         if (!asyncEmpty) {
             return;
         }
         asyncEmpty = false;
-        Object[] tasksArray;
+        WidgetIgnorableUITask[] tasksArray;
         // copy the tasks queue.
         synchronized (this) {
-            tasksArray = tasksQueue.toArray();
+            tasksArray = tasksQueue.toArray(new WidgetIgnorableUITask[tasksQueue.size()]);
             tasksQueue.clear();
         }
         if (rcpDisplay == null || rcpDisplay.isDisposed()) {
             return;
         }
-        for (var o : tasksArray) {
+        try {
+            rcpDisplay.asyncExec(() -> runFrame(tasksArray));
+        } catch (Exception e) {
+            OPIBuilderPlugin.getLogger().log(Level.WARNING, "Display has been disposed.", e);
+        }
+    }
+
+    /**
+     * Executes tasks on the UI thread until they are all done, or until the time budget of this frame is used up.
+     */
+    private void runFrame(WidgetIgnorableUITask[] tasksArray) {
+        var deadline = System.nanoTime() + Math.max(10, guiRefreshCycle / 2) * 1000000L;
+        var i = 0;
+        while (i < tasksArray.length) {
             try {
-                rcpDisplay.asyncExec(((WidgetIgnorableUITask) o).getRunnableTask());
+                tasksArray[i++].getRunnableTask().run();
             } catch (Exception e) {
-                OPIBuilderPlugin.getLogger().log(Level.WARNING, "Display has been disposed.", e);
+                OPIBuilderPlugin.getLogger().log(Level.WARNING, "Failed to refresh GUI", e);
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+        if (i < tasksArray.length) {
+            carryOver(Arrays.copyOfRange(tasksArray, i, tasksArray.length));
+        }
+        asyncEmpty = true;
+
+        // Tasks that were carried over or added during this frame
+        synchronized (this) {
+            if (!tasksQueue.isEmpty()) {
+                FrameScheduler.getInstance().requestFrame(this);
+            }
+        }
+    }
+
+    /**
+     * Puts tasks that did not fit in a frame back in front of the queue. Tasks that were replaced by a newer one in the
+     * meantime are dropped.
+     */
+    private synchronized void carryOver(WidgetIgnorableUITask[] remainingTasks) {
+        var newTasksQueue = new LinkedHashSet<WidgetIgnorableUITask>();
+        for (var task : remainingTasks) {
+            if (!tasksQueue.contains(task)) {
+                newTasksQueue.add(task);
             }
         }
-        rcpDisplay.asyncExec(resetAsyncEmpty);
+        newTasksQueue.addAll(tasksQueue);
+        tasksQueue = newTasksQueue;
     }
 
     /**
@@ -175,5 +198,6 @@ public final class GUIRefreshThread implements Runnable {
     public synchronized void addIgnorableTask(WidgetIgnorableUITask task) {
         tasksQueue.remove(task);
         tasksQueue.add(task);
+        FrameScheduler.getInstance().requestFrame(this);
     }
 }
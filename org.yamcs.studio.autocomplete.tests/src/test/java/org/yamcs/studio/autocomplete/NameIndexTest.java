@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.autocomplete;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+import org.yamcs.studio.autocomplete.NameIndex.Match;
+
+public class NameIndexTest {
+
+    private static final List<String> NAMES = Arrays.asList(
+            "/YSS/SIMULATOR/BatteryVoltage1",
+            "/YSS/SIMULATOR/BatteryVoltage2",
+            "/YSS/SIMULATOR/BatteryTemperature1",
+            "/YSS/SIMULATOR/Altitude",
+            "/YSS/SIMULATOR/Heading",
+            "/YSS/SIMULATOR/PrimaryBusVoltage",
+            "/YSS/SIMULATOR/Pressure.value",
+            "/YSS/SIMULATOR/structure.pressure",
+            "/YSS/SIMULATOR/compressor[3].mode",
+            "/YSS/SIMULATOR/tvoltage");
+
+    private final NameIndex index = new NameIndex(NAMES);
+
+    @Test
+    public void testTrigramSearch() {
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/Heading"), names(index.find("Head", 10)));
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/Altitude"), names(index.find("titu", 10)));
+    }
+
+    @Test
+    public void testIgnoresCase() {
+        var expected = names(index.find("battery", 10));
+        assertEquals(3, expected.size());
+        assertEquals(expected, names(index.find("BATTERY", 10)));
+        assertEquals(expected, names(index.find("bAtTeRy", 10)));
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/Altitude"), names(index.find("ALTITUDE", 10)));
+    }
+
+    @Test
+    public void testNoMatch() {
+        assertTrue(index.find("xyz", 10).isEmpty()); // Unknown trigram
+        assertTrue(index.find("HeadingX", 10).isEmpty()); // Known trigrams
+        assertTrue(index.find("tudeAlti", 10).isEmpty()); // Known trigrams, other order
+    }
+
+    @Test
+    public void testShortSearch() {
+        // No trigrams, so all names are scanned, in index order
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/Altitude", "/YSS/SIMULATOR/Heading"),
+                names(index.find("d", 10)).subList(0, 2));
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/BatteryVoltage2"), names(index.find("e2", 10)));
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/BatteryVoltage2"), names(index.find("E2", 10)));
+        assertEquals(NAMES.subList(0, 2), names(index.find("ss", 2)));
+        assertTrue(index.find("qz", 10).isEmpty());
+    }
+
+    @Test
+    public void testMatchOffsets() {
+        var match = index.find("alt", 10).get(0);
+        assertEquals("/YSS/SIMULATOR/Altitude", match.getName());
+        assertEquals(15, match.getStart());
+        assertEquals(18, match.getEnd());
+
+        match = index.find("he", 10).get(0);
+        assertEquals("/YSS/SIMULATOR/Heading", match.getName());
+        assertEquals(15, match.getStart());
+        assertEquals(17, match.getEnd());
+    }
+
+    @Test
+    public void testSegmentStartsFirst() {
+        // Pressure.value starts a segment, structure.pressure and compressor[3] don't
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/Pressure.value", "/YSS/SIMULATOR/structure.pressure",
+                "/YSS/SIMULATOR/compressor[3].mode"), names(index.find("press", 10)));
+
+        // Voltage is never at the start of a segment
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/BatteryVoltage1", "/YSS/SIMULATOR/BatteryVoltage2",
+                "/YSS/SIMULATOR/PrimaryBusVoltage", "/YSS/SIMULATOR/tvoltage"), names(index.find("voltage", 10)));
+
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/compressor[3].mode"), names(index.find("mode", 10)));
+    }
+
+    @Test
+    public void testLimit() {
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/Pressure.value", "/YSS/SIMULATOR/structure.pressure"),
+                names(index.find("press", 2)));
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/BatteryVoltage1"), names(index.find("voltage", 1)));
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/BatteryVoltage1", "/YSS/SIMULATOR/BatteryVoltage2"),
+                names(index.find("sim", 2)));
+    }
+
+    @Test
+    public void testWildcards() {
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/BatteryTemperature1"), names(index.find("bat*temp", 10)));
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/BatteryVoltage1", "/YSS/SIMULATOR/BatteryVoltage2"),
+                names(index.find("voltage?", 10)));
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/compressor[3].mode"), names(index.find("r[?]", 10)));
+
+        // Fragments too short for trigrams
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/Altitude"), names(index.find("al*de", 10)));
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/BatteryVoltage2"), names(index.find("g?2", 10)));
+    }
+
+    @Test
+    public void testSpecialCharactersAreLiteral() {
+        assertEquals(Arrays.asList("/YSS/SIMULATOR/compressor[3].mode"), names(index.find("[3].", 10)));
+        assertTrue(index.find("pressure.v.lue", 10).isEmpty());
+        assertTrue(index.find("r(3)", 10).isEmpty());
+    }
+
+    @Test
+    public void testMatchesScan() {
+        var random = new Random(1);
+        var alphabet = "abcABC/.[]0";
+        var uniqueNames = new LinkedHashSet<String>();
+        while (uniqueNames.size() < 2000) {
+            uniqueNames.add(randomString(random, alphabet, 1 + random.nextInt(12)));
+        }
+        var names = new ArrayList<>(uniqueNames);
+        var index = new NameIndex(names);
+
+        for (var i = 0; i < 500; i++) {
+            var search = randomString(random, alphabet + "*?", 1 + random.nextInt(5));
+            search = AutoCompleteHelper.trimWildcards(search);
+            if (search.isEmpty()) {
+                continue;
+            }
+            var pattern = Pattern.compile(AutoCompleteHelper.convertToPattern(search).pattern(),
+                    Pattern.CASE_INSENSITIVE);
+            var expected = new HashSet<String>();
+            for (var name : names) {
+                if (pattern.matcher(name).find()) {
+                    expected.add(name);
+                }
+            }
+            var actual = names(index.find(search, names.size()));
+            assertEquals(search, expected, new HashSet<>(actual));
+            assertEquals(search, expected.size(), actual.size());
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        var buf = new StringBuilder();
+        for (var i = 0; i < length; i++) {
+            buf.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return buf.toString();
+    }
+
+    private static List<String> names(List<Match> matches) {
+        var names = new ArrayList<String>();
+        for (var match : matches) {
+            names.add(match.getName());
+        }
+        return names;
+    }
+}
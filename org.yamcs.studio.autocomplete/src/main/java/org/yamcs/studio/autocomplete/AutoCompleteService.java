@@ -16,6 +16,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 import org.osgi.framework.InvalidSyntaxException;
@@ -27,22 +32,28 @@ import org.yamcs.studio.autocomplete.preferences.Preferences;
 /**
  * Service which handles content parsing (see {@link IContentParser}) and requesting proposals from defined providers
  * (see {@link IAutoCompleteProvider}.
+ * <p>
+ * Providers are queried on a small shared pool of threads. Each query supersedes the previous one: tasks of an older
+ * query that did not start yet are skipped, and results of older queries are no longer delivered. Results are delivered
+ * per provider as soon as they are available, and providers that were fastest in earlier queries are started first.
  */
 public class AutoCompleteService {
 
     private class ProviderTask implements Runnable {
 
         private final Long uniqueId;
+        private final long generation;
         private final Integer index;
         private final ContentDescriptor desc;
         private final ProviderSettings settings;
         private final IAutoCompleteResultListener listener;
-        private boolean canceled = false;
+        private volatile boolean canceled = false;
 
-        public ProviderTask(Long uniqueId, Integer index, ContentDescriptor desc, ProviderSettings settings,
-                IAutoCompleteResultListener listener) {
+        public ProviderTask(Long uniqueId, long generation, Integer index, ContentDescriptor desc,
+                ProviderSettings settings, IAutoCompleteResultListener listener) {
             this.index = index;
             this.uniqueId = uniqueId;
+            this.generation = generation;
             this.desc = desc;
             this.settings = settings;
             this.listener = listener;
@@ -50,18 +61,30 @@ public class AutoCompleteService {
 
         @Override
         public void run() {
-            var result = settings.getProvider().listResult(desc, settings.getMaxResults());
-            if (result != null) {
-                result.setProvider(settings.getName());
-            }
-            if (!canceled) {
-                listener.handleResult(uniqueId, index, result);
-            }
-            synchronized (workQueue) {
-                workQueue.remove(this);
+            try {
+                if (isObsolete()) {
+                    return;
+                }
+                var start = System.nanoTime();
+                var result = settings.getProvider().listResult(desc, settings.getMaxResults());
+                recordDuration(settings, System.nanoTime() - start);
+                if (result != null) {
+                    result.setProvider(settings.getName());
+                }
+                if (!isObsolete()) {
+                    listener.handleResult(uniqueId, index, result);
+                }
+            } finally {
+                synchronized (workQueue) {
+                    workQueue.remove(this);
+                }
             }
         }
 
+        private boolean isObsolete() {
+            return canceled || generation != currentGeneration.get();
+        }
+
         public void cancel() {
             settings.getProvider().cancel();
             canceled = true;
@@ -127,7 +150,13 @@ public class AutoCompleteService {
         }
     }
 
+    private static final int MAX_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
     private static AutoCompleteService instance;
+    private final ExecutorService executor;
+    private final AtomicLong currentGeneration = new AtomicLong();
+    // Recent duration of listResult per provider, in nanoseconds
+    private final Map<String, Long> durationByProvider = new ConcurrentHashMap<>();
     private Map<String, ProviderSettings> providerByName;
     private Map<String, List<ProviderSettings>> providersByType;
     private ProviderSettings defaultProvider;
@@ -151,6 +180,13 @@ public class AutoCompleteService {
         }
         providersByType = new TreeMap<>();
         workQueue = new ArrayList<>();
+
+        var threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(MAX_THREADS, r -> {
+            var t = new Thread(r, "AutoComplete-" + threadNumber.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
     }
 
     public static AutoCompleteService getInstance() {
@@ -180,20 +216,37 @@ public class AutoCompleteService {
         var index = 0; // Useful to keep the order
         var providerList = retrieveProviders(acType, descList);
 
-        // Execute them in parallel
+        var generation = currentGeneration.incrementAndGet();
+        var tasks = new ArrayList<ProviderTask>();
         for (var sc : providerList) {
-            var task = new ProviderTask(uniqueId, index, sc.desc, sc.settings, listener);
-            synchronized (workQueue) {
-                workQueue.add(task);
-            }
-            new Thread(task).start();
+            tasks.add(new ProviderTask(uniqueId, generation, index, sc.desc, sc.settings, listener));
             index++;
         }
+
+        // Execute them in parallel, cheapest first. The index still determines the display order.
+        tasks.sort((t1, t2) -> Long.compare(estimateDuration(t1.settings), estimateDuration(t2.settings)));
+        synchronized (workQueue) {
+            workQueue.addAll(tasks);
+        }
+        for (var task : tasks) {
+            executor.execute(task);
+        }
         return index;
     }
 
+    private long estimateDuration(ProviderSettings settings) {
+        return durationByProvider.getOrDefault(settings.getName(), 0L);
+    }
+
+    private void recordDuration(ProviderSettings settings, long duration) {
+        // Moving average, so that a single slow query (e.g. building an index) is soon forgotten
+        durationByProvider.merge(settings.getName(), duration,
+                (previous, latest) -> previous + (latest - previous) / 4);
+    }
+
     public void cancel(String type) {
         AutoCompletePlugin.getLogger().log(Level.FINE, ">> ChannelNameService canceled for type: " + type + " <<");
+        currentGeneration.incrementAndGet();
         synchronized (workQueue) {
             for (var task : workQueue) {
                 task.cancel();
@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.autocomplete;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Index for finding names that contain a (wildcard) search string, ignoring case.
+ * <p>
+ * Each name is indexed by the three-character sequences (trigrams) it contains. A search only verifies the names that
+ * contain all trigrams of the search string, instead of scanning every name.
+ */
+public class NameIndex {
+
+    private final String[] names;
+    private final Map<Long, int[]> namesByTrigram;
+
+    /**
+     * @param names
+     *            the names to index, in the order in which results of equal rank are returned
+     */
+    public NameIndex(List<String> names) {
+        this.names = names.toArray(new String[names.size()]);
+
+        var postings = new HashMap<Long, IntList>();
+        for (var i = 0; i < this.names.length; i++) {
+            var name = this.names[i];
+            for (var j = 0; j + 3 <= name.length(); j++) {
+                var list = postings.computeIfAbsent(trigram(name, j), x -> new IntList());
+                list.addOnce(i);
+            }
+        }
+        namesByTrigram = new HashMap<>(postings.size() * 2);
+        postings.forEach((trigram, list) -> namesByTrigram.put(trigram, list.toArray()));
+    }
+
+    /**
+     * Finds names that contain the given string. The wildcards <code>*</code> and <code>?</code> match any number of
+     * characters, or a single character.
+     * <p>
+     * Names where the match starts at the beginning of a path segment are returned first. Otherwise, names keep the
+     * order in which they were indexed.
+     *
+     * @param search
+     *            the string to search for, with leading and trailing wildcards already trimmed
+     * @param limit
+     *            the maximum number of results
+     */
+    public List<Match> find(String search, int limit) {
+        var pattern = AutoCompleteHelper.convertToPattern(search);
+        if (pattern == null) {
+            return new ArrayList<>();
+        }
+        pattern = Pattern.compile(pattern.pattern(), Pattern.CASE_INSENSITIVE);
+
+        var candidates = findCandidates(search);
+        if (candidates == null) {
+            // Search too short for the index. Matches are so common that the
+            // limit is reached soon, but don't spend time on ranking them.
+            var matches = new ArrayList<Match>();
+            for (var i = 0; i < names.length && matches.size() < limit; i++) {
+                var m = pattern.matcher(names[i]);
+                if (m.find()) {
+                    matches.add(new Match(names[i], m.start(), m.end()));
+                }
+            }
+            return matches;
+        }
+
+        // Candidates are in index order, so verification can stop as soon as
+        // there are enough matches of the best rank.
+        var segmentMatches = new ArrayList<Match>();
+        var otherMatches = new ArrayList<Match>();
+        for (var i = 0; i < candidates.length && segmentMatches.size() < limit; i++) {
+            var name = names[candidates[i]];
+            var m = pattern.matcher(name);
+            if (m.find()) {
+                var match = new Match(name, m.start(), m.end());
+                if (isSegmentStart(match)) {
+                    segmentMatches.add(match);
+                } else if (otherMatches.size() < limit) {
+                    otherMatches.add(match);
+                }
+            }
+        }
+        var matches = segmentMatches;
+        for (var i = 0; i < otherMatches.size() && matches.size() < limit; i++) {
+            matches.add(otherMatches.get(i));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the sorted indexes of all names that contain every trigram of the search string, or null if the search
+     * string does not contain any trigram.
+     */
+    private int[] findCandidates(String search) {
+        var postingLists = new ArrayList<int[]>();
+        for (var fragment : search.split("[*?]")) {
+            for (var j = 0; j + 3 <= fragment.length(); j++) {
+                var postings = namesByTrigram.get(trigram(fragment, j));
+                if (postings == null) {
+                    return new int[0];
+                }
+                postingLists.add(postings);
+            }
+        }
+        if (postingLists.isEmpty()) {
+            return null;
+        }
+
+        // Intersect, starting from the most selective trigram
+        postingLists.sort(Comparator.comparingInt(postings -> postings.length));
+        var result = postingLists.get(0);
+        for (var k = 1; k < postingLists.size() && result.length > 0; k++) {
+            result = intersect(result, postingLists.get(k));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        var result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static long trigram(String s, int offset) {
+        // Per character, so that lowercasing never changes the length
+        long c1 = Character.toLowerCase(s.charAt(offset));
+        long c2 = Character.toLowerCase(s.charAt(offset + 1));
+        long c3 = Character.toLowerCase(s.charAt(offset + 2));
+        return (c1 << 32) | (c2 << 16) | c3;
+    }
+
+    private static boolean isSegmentStart(Match match) {
+        if (match.start == 0) {
+            return true;
+        }
+        var c = match.name.charAt(match.start - 1);
+        return c == '/' || c == '.' || c == '[' || c == ':';
+    }
+
+    public static class Match {
+
+        private final String name;
+        private final int start;
+        private final int end;
+
+        private Match(String name, int start, int end) {
+            this.name = name;
+            this.start = start;
+            this.end = end;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Start offset of the match in the name.
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * Offset after the last character of the match in the name.
+         */
+        public int getEnd() {
+            return end;
+        }
+    }
+
+    private static class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void addOnce(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return; // Same trigram occurs more than once in a name
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -9,16 +9,18 @@
  *******************************************************************************/
 package org.yamcs.studio.autocomplete.ops;
 
-import java.util.regex.Pattern;
+import java.util.ArrayList;
 
 import org.yamcs.protobuf.Mdb.ParameterInfo;
 import org.yamcs.studio.autocomplete.AutoCompleteHelper;
 import org.yamcs.studio.autocomplete.AutoCompleteResult;
 import org.yamcs.studio.autocomplete.IAutoCompleteProvider;
+import org.yamcs.studio.autocomplete.NameIndex;
 import org.yamcs.studio.autocomplete.parser.ContentDescriptor;
 import org.yamcs.studio.autocomplete.parser.ContentType;
 import org.yamcs.studio.autocomplete.proposals.Proposal;
 import org.yamcs.studio.autocomplete.proposals.ProposalStyle;
+import org.yamcs.studio.core.MissionDatabase;
 import org.yamcs.studio.core.YamcsPlugin;
 
 /**
@@ -31,6 +33,9 @@ import org.yamcs.studio.core.YamcsPlugin;
  */
 public class OpsContentProvider implements IAutoCompleteProvider {
 
+    private MissionDatabase indexedMdb;
+    private NameIndex index;
+
     @Override
     public boolean accept(ContentType type) {
         return type == ContentType.PVName;
@@ -44,32 +49,39 @@ public class OpsContentProvider implements IAutoCompleteProvider {
         }
 
         content = AutoCompleteHelper.trimWildcards(content);
-        var namePattern = AutoCompleteHelper.convertToPattern(content);
-        namePattern = Pattern.compile(namePattern.pattern(), Pattern.CASE_INSENSITIVE);
 
         var pvs = new AutoCompleteResult();
         var matchCount = 0;
         var mdb = YamcsPlugin.getMissionDatabase();
         if (mdb != null) {
+            for (var match : getIndex(mdb).find(content, limit)) {
+                var p = new Proposal(match.getName(), false);
+                p.addStyle(ProposalStyle.getDefault(match.getStart(), match.getEnd() - 1));
+                pvs.addProposal(p);
+                matchCount++;
+            }
+        }
+        pvs.setCount(matchCount);
+        return pvs;
+    }
+
+    /**
+     * Returns the index of all OPS names for the given MDB. It is built on first use, and again only when a different
+     * MDB is loaded.
+     */
+    private synchronized NameIndex getIndex(MissionDatabase mdb) {
+        if (indexedMdb != mdb) {
+            var proposalValues = new ArrayList<String>();
             for (var para : mdb.getParameters()) {
                 var opsname = findOpsname(para);
                 if (opsname != null) {
-                    var proposalValue = OpsContentParser.OPS_SOURCE + opsname;
-                    var m = namePattern.matcher(proposalValue);
-                    if (m.find()) {
-                        var p = new Proposal(proposalValue, false);
-                        p.addStyle(ProposalStyle.getDefault(m.start(), m.end() - 1));
-                        pvs.addProposal(p);
-                        matchCount++;
-                        if (matchCount >= limit) {
-                            break;
-                        }
-                    }
+                    proposalValues.add(OpsContentParser.OPS_SOURCE + opsname);
                 }
             }
+            index = new NameIndex(proposalValues);
+            indexedMdb = mdb;
         }
-        pvs.setCount(matchCount);
-        return pvs;
+        return index;
     }
 
     private String findOpsname(ParameterInfo parameter) {
@@ -83,6 +95,6 @@ public class OpsContentProvider implements IAutoCompleteProvider {
 
     @Override
     public synchronized void cancel() {
-        // NOP, our search code should be fast enough to not cause problems
+        // NOP, searches use an index and are fast enough to not cause problems
     }
 }
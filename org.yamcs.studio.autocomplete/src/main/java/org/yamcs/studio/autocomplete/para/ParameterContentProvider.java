@@ -11,16 +11,17 @@ package org.yamcs.studio.autocomplete.para;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 
 import org.yamcs.protobuf.Mdb.ParameterTypeInfo;
 import org.yamcs.studio.autocomplete.AutoCompleteHelper;
 import org.yamcs.studio.autocomplete.AutoCompleteResult;
 import org.yamcs.studio.autocomplete.IAutoCompleteProvider;
+import org.yamcs.studio.autocomplete.NameIndex;
 import org.yamcs.studio.autocomplete.parser.ContentDescriptor;
 import org.yamcs.studio.autocomplete.parser.ContentType;
 import org.yamcs.studio.autocomplete.proposals.Proposal;
 import org.yamcs.studio.autocomplete.proposals.ProposalStyle;
+import org.yamcs.studio.core.MissionDatabase;
 import org.yamcs.studio.core.YamcsPlugin;
 
 /**
@@ -33,6 +34,9 @@ import org.yamcs.studio.core.YamcsPlugin;
  */
 public class ParameterContentProvider implements IAutoCompleteProvider {
 
+    private MissionDatabase indexedMdb;
+    private NameIndex index;
+
     @Override
     public boolean accept(ContentType type) {
         return type == ContentType.PVName;
@@ -57,42 +61,44 @@ public class ParameterContentProvider implements IAutoCompleteProvider {
 
         content = AutoCompleteHelper.trimWildcards(content);
         content = content.replaceAll("\\[[0-9]+\\]", "[]"); // Ignore specific index into array
-        var namePattern = AutoCompleteHelper.convertToPattern(content);
-        namePattern = Pattern.compile(namePattern.pattern(), Pattern.CASE_INSENSITIVE);
 
         var result = new AutoCompleteResult();
         var matchCount = 0;
         var mdb = YamcsPlugin.getMissionDatabase();
         if (mdb != null) {
+            for (var match : getIndex(mdb).find(content, limit)) {
+                var p = new Proposal(match.getName(), false);
+                p.addStyle(ProposalStyle.getDefault(match.getStart(), match.getEnd() - 1));
+                result.addProposal(p);
+                matchCount++;
+            }
+        }
+
+        result.setCount(matchCount);
+        return result;
+    }
+
+    /**
+     * Returns the index of all proposal values for the given MDB. It is built on first use, and again only when a
+     * different MDB is loaded.
+     */
+    private synchronized NameIndex getIndex(MissionDatabase mdb) {
+        if (indexedMdb != mdb) {
+            var proposalValues = new ArrayList<String>();
             for (var para : mdb.getParameters()) {
                 var pvCandidates = new ArrayList<String>();
                 pvCandidates.add(para.getQualifiedName());
                 if (para.hasType()) {
                     scanTypeForPvCandidates(para.getQualifiedName(), para.getType(), pvCandidates);
                 }
-
                 for (var pvCandidate : pvCandidates) {
-                    var proposalValue = requirePrefix() ? getPrefix() + pvCandidate : pvCandidate;
-                    var m = namePattern.matcher(proposalValue);
-                    if (m.find()) {
-                        var p = new Proposal(proposalValue, false);
-                        p.addStyle(ProposalStyle.getDefault(m.start(), m.end() - 1));
-                        result.addProposal(p);
-                        matchCount++;
-                        if (matchCount >= limit) {
-                            break;
-                        }
-                    }
-                }
-
-                if (matchCount >= limit) {
-                    break;
+                    proposalValues.add(requirePrefix() ? getPrefix() + pvCandidate : pvCandidate);
                 }
             }
+            index = new NameIndex(proposalValues);
+            indexedMdb = mdb;
         }
-
-        result.setCount(matchCount);
-        return result;
+        return index;
     }
 
     private void scanTypeForPvCandidates(String basePvName, ParameterTypeInfo type, List<String> pvCandidates) {
@@ -112,6 +118,6 @@ public class ParameterContentProvider implements IAutoCompleteProvider {
 
     @Override
     public synchronized void cancel() {
-        // NOP, our search code should be fast enough to not cause problems
+        // NOP, searches use an index and are fast enough to not cause problems
     }
 }
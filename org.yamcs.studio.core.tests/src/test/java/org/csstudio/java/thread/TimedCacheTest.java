@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.csstudio.java.thread;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class TimedCacheTest {
+
+    private TimedCache<String, Integer> cache;
+
+    @After
+    public void close() {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        cache = new TimedCache<>(3600);
+        cache.remember("a", 1);
+
+        assertEquals(Integer.valueOf(1), cache.getValue("a"));
+        assertEquals(Integer.valueOf(1), cache.getValue("a"));
+        assertNull(cache.getValue("b"));
+
+        var stats = cache.getCacheStats();
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0, stats.getExpirations());
+        assertEquals(3, stats.getTotal());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        // Small enough for a single segment
+        cache = new TimedCache<>(3600, 3);
+        cache.remember("a", 1);
+        cache.remember("b", 2);
+        cache.remember("c", 3);
+        cache.getValue("a");
+        cache.remember("d", 4);
+
+        assertEquals(3, cache.size());
+        assertNull(cache.getValue("b"));
+        assertEquals(Integer.valueOf(1), cache.getValue("a"));
+        assertEquals(Integer.valueOf(3), cache.getValue("c"));
+        assertEquals(Integer.valueOf(4), cache.getValue("d"));
+        assertEquals(1, cache.getCacheStats().getEvictions());
+
+        // Replacing a value does not evict
+        cache.remember("c", 30);
+        assertEquals(3, cache.size());
+        assertEquals(Integer.valueOf(30), cache.getValue("c"));
+        assertEquals(1, cache.getCacheStats().getEvictions());
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        cache = new TimedCache<>(3600, 1000);
+        for (var i = 0; i < 20000; i++) {
+            cache.remember("key" + i, i);
+        }
+
+        // Each segment is bounded, so the total is close to the maximum
+        var size = cache.size();
+        assertTrue("size " + size, size <= 1100);
+        assertTrue("size " + size, size >= 900);
+        assertEquals(20000 - size, cache.getCacheStats().getEvictions());
+
+        // Recent entries survive
+        assertEquals(Integer.valueOf(19999), cache.getValue("key19999"));
+    }
+
+    @Test
+    public void testExpiresOnRead() {
+        cache = new TimedCache<>(0);
+        cache.remember("a", 1);
+
+        assertNull(cache.getValue("a"));
+        assertEquals(0, cache.size());
+
+        var stats = cache.getCacheStats();
+        assertEquals(1, stats.getExpirations());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0, stats.getHits());
+    }
+
+    @Test
+    public void testCleanup() {
+        cache = new TimedCache<>(0);
+        for (var i = 0; i < 100; i++) {
+            cache.remember("key" + i, i);
+        }
+        assertEquals(100, cache.size());
+
+        cache.cleanup();
+        assertEquals(0, cache.size());
+
+        var stats = cache.getCacheStats();
+        assertEquals(100, stats.getExpirations());
+        assertEquals(0, stats.getTotal());
+    }
+
+    @Test
+    public void testSweeper() throws InterruptedException {
+        cache = new TimedCache<>(0);
+        cache.remember("a", 1);
+        cache.remember("b", 2);
+
+        // Sweeps every second
+        for (var i = 0; i < 50 && cache.size() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getCacheStats().getExpirations());
+    }
+
+    @Test
+    public void testClosedCacheRemainsUsable() {
+        cache = new TimedCache<>(3600);
+        cache.close();
+        cache.remember("a", 1);
+        assertEquals(Integer.valueOf(1), cache.getValue("a"));
+    }
+}
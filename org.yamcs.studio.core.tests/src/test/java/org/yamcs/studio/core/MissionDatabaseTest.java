@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.yamcs.protobuf.Mdb.ArrayInfo;
+import org.yamcs.protobuf.Mdb.MemberInfo;
+import org.yamcs.protobuf.Mdb.ParameterInfo;
+import org.yamcs.protobuf.Mdb.ParameterTypeInfo;
+import org.yamcs.protobuf.Yamcs.NamedObjectId;
+
+public class MissionDatabaseTest {
+
+    private MissionDatabase mdb;
+
+    /**
+     * <pre>
+     * /sc/status: aggregate
+     *   mode: enumeration
+     *   position: aggregate
+     *     x: float
+     *     y: float
+     *   samples: array of integer
+     *   points: array of aggregate
+     *     x: float
+     *     flags: array of array of boolean
+     * /sc/temperature: float
+     * </pre>
+     */
+    @Before
+    public void setUp() {
+        var position = aggregate("position", member("x", type("float")), member("y", type("float")));
+        var point = aggregate("point", member("x", type("float")),
+                member("flags", array("flags", array("flagRow", type("boolean")))));
+        var status = aggregate("status",
+                member("mode", type("enumeration")),
+                member("position", position),
+                member("samples", array("samples", type("integer"))),
+                member("points", array("points", point)));
+
+        mdb = new MissionDatabase();
+        mdb.addParameter(ParameterInfo.newBuilder()
+                .setQualifiedName("/sc/status")
+                .addAlias(NamedObjectId.newBuilder().setNamespace("ops").setName("STATUS"))
+                .setType(status)
+                .build());
+        mdb.addParameter(ParameterInfo.newBuilder()
+                .setQualifiedName("/sc/temperature")
+                .setType(type("float"))
+                .build());
+    }
+
+    @Test
+    public void testParameter() {
+        assertEquals("status", find("/sc/status"));
+        assertEquals("float", find("/sc/temperature"));
+        assertNull(find("/sc/unknown"));
+        assertNull(find("/sc/unknown.x"));
+    }
+
+    @Test
+    public void testMembers() {
+        assertEquals("enumeration", find("/sc/status.mode"));
+        assertEquals("position", find("/sc/status.position"));
+        assertEquals("float", find("/sc/status.position.y"));
+    }
+
+    @Test
+    public void testArrayEntries() {
+        assertEquals("integer", find("/sc/status.samples[0]"));
+        assertEquals("integer", find("/sc/status.samples[12345]"));
+        assertEquals("point", find("/sc/status.points[2]"));
+        assertEquals("float", find("/sc/status.points[2].x"));
+        assertEquals("flagRow", find("/sc/status.points[2].flags[0]"));
+        assertEquals("boolean", find("/sc/status.points[2].flags[0][7]"));
+    }
+
+    @Test
+    public void testAlias() {
+        var id = NamedObjectId.newBuilder().setNamespace("ops").setName("STATUS.position.x").build();
+        assertEquals("float", mdb.getParameterTypeInfo(id).getEngType());
+    }
+
+    @Test
+    public void testUnknownMembers() {
+        assertNull(find("/sc/status.speed"));
+        assertNull(find("/sc/status.position.z"));
+        assertNull(find("/sc/status.mode.x")); // Not an aggregate
+        assertNull(find("/sc/temperature.x"));
+        assertNull(find("/sc/status.points.x")); // Array, not its entry
+    }
+
+    @Test
+    public void testIndexOfNonArray() {
+        assertNull(find("/sc/status[0]"));
+        assertNull(find("/sc/temperature[0]"));
+        assertNull(find("/sc/status.samples[0][0]"));
+    }
+
+    @Test
+    public void testMalformedPaths() {
+        assertNull(find("/sc/status."));
+        assertNull(find("/sc/status..mode"));
+        assertNull(find("/sc/status.position."));
+        assertNull(find("/sc/status.samples["));
+        assertNull(find("/sc/status.samples[]"));
+        assertNull(find("/sc/status.samples[1"));
+        assertNull(find("/sc/status.samples[a]"));
+        assertNull(find("/sc/status.samples[-1]"));
+        assertNull(find("/sc/status.samples[1 ]"));
+        assertNull(find("/sc/status.samples]"));
+        assertNull(find("/sc/status.samples[1]x"));
+        assertNull(find("/sc/status.points[1]x"));
+    }
+
+    private String find(String name) {
+        var id = NamedObjectId.newBuilder().setName(name).build();
+        var type = mdb.getParameterTypeInfo(id);
+        return type != null ? type.getEngType() : null;
+    }
+
+    private static ParameterTypeInfo type(String engType) {
+        return ParameterTypeInfo.newBuilder().setEngType(engType).build();
+    }
+
+    private static ParameterTypeInfo aggregate(String engType, MemberInfo... members) {
+        var type = ParameterTypeInfo.newBuilder().setEngType(engType);
+        for (var member : members) {
+            type.addMember(member);
+        }
+        return type.build();
+    }
+
+    private static ParameterTypeInfo array(String engType, ParameterTypeInfo entryType) {
+        return ParameterTypeInfo.newBuilder()
+                .setEngType(engType)
+                .setArrayInfo(ArrayInfo.newBuilder().setType(entryType))
+                .build();
+    }
+
+    private static MemberInfo member(String name, ParameterTypeInfo type) {
+        return MemberInfo.newBuilder().setName(name).setType(type).build();
+    }
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.yamcs.studio.data.vtype.VType;
+import org.yamcs.studio.data.vtype.ValueFactory;
+
+public class IPVTest {
+
+    private PartitionedExecutor executor;
+    private TestDatasource datasource;
+
+    @Before
+    public void setUp() {
+        executor = new PartitionedExecutor("test", 4);
+        datasource = new TestDatasource();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A script store registers one listener on all PVs of a script. A batch of updates that covers several of these
+     * PVs must run the script only once.
+     */
+    @Test
+    public void testBatchListenerIsCalledOncePerBatch() throws InterruptedException {
+        var pvs = createPVs("a", "b", "c", "d");
+        var script = new ScriptListener();
+        pvs.forEach(pv -> pv.addListener(script));
+        drain(pvs);
+        script.singleRuns.set(0); // Ignore the initial values replayed by addListener
+
+        IPV.notifyValueChanges(pvs.subList(0, 3));
+        IPV.notifyValueChanges(pvs.subList(1, 4));
+        drain(pvs);
+
+        // Batches may be delivered on different threads, so in any order
+        assertEquals(2, script.batchRuns.size());
+        assertTrue(script.batchRuns.contains(List.of("a", "b", "c")));
+        assertTrue(script.batchRuns.contains(List.of("b", "c", "d")));
+        assertEquals(0, script.singleRuns.get());
+    }
+
+    @Test
+    public void testOtherListenersAreCalledPerPV() throws InterruptedException {
+        var pvs = createPVs("a", "b", "c");
+        var count = new AtomicInteger();
+        var listener = new IPVListener() {
+            @Override
+            public void valueChanged(IPV pv) {
+                count.incrementAndGet();
+            }
+        };
+        pvs.forEach(pv -> pv.addListener(listener));
+        drain(pvs);
+        count.set(0);
+
+        IPV.notifyValueChanges(pvs);
+        drain(pvs);
+
+        assertEquals(3, count.get());
+    }
+
+    @Test
+    public void testValueChangesAreNotifiedOnTheNotificationThread() throws InterruptedException {
+        var pv = createPVs("a").get(0);
+        var threads = new CopyOnWriteArrayList<Thread>();
+        pv.addListener(new IPVListener() {
+            @Override
+            public void valueChanged(IPV pv) {
+                threads.add(Thread.currentThread());
+            }
+        });
+        pv.notifyValueChange();
+        drain(List.of(pv));
+
+        assertEquals(2, threads.size()); // Replay by addListener, then the change
+        assertTrue(threads.get(1).getName().startsWith("test-"));
+    }
+
+    private List<IPV> createPVs(String... names) {
+        var pvs = new ArrayList<IPV>();
+        for (var name : names) {
+            pvs.add(new IPV(name, datasource, executor.partition(name), 0));
+        }
+        return pvs;
+    }
+
+    /**
+     * Waits until all notifications that are queued for the given PVs were delivered.
+     */
+    private void drain(List<IPV> pvs) throws InterruptedException {
+        var latch = new CountDownLatch(pvs.size());
+        for (var pv : pvs) {
+            executor.partition(pv.getName()).execute(latch::countDown);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    private static class ScriptListener implements IPVBatchListener {
+
+        private List<List<String>> batchRuns = new CopyOnWriteArrayList<>();
+        private AtomicInteger singleRuns = new AtomicInteger();
+
+        @Override
+        public void valueChanged(IPV pv) {
+            singleRuns.incrementAndGet();
+        }
+
+        @Override
+        public void valuesChanged(Collection<IPV> pvs) {
+            var names = new ArrayList<String>();
+            pvs.forEach(pv -> names.add(pv.getName()));
+            batchRuns.add(names);
+        }
+    }
+
+    private static class TestDatasource implements Datasource {
+
+        private final VType value = ValueFactory.newVDouble(1.0);
+
+        @Override
+        public boolean supportsPVName(String pvName) {
+            return true;
+        }
+
+        @Override
+        public boolean isConnected(IPV pv) {
+            return true;
+        }
+
+        @Override
+        public boolean isWriteAllowed(IPV pv) {
+            return false;
+        }
+
+        @Override
+        public VType getValue(IPV pv) {
+            return value;
+        }
+
+        @Override
+        public void writeValue(IPV pv, Object value, WriteCallback callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void onStarted(IPV pv) {
+        }
+
+        @Override
+        public void onStopped(IPV pv) {
+        }
+    }
+}
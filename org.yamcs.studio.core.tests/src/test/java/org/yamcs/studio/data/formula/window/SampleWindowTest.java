@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.formula.window;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class SampleWindowTest {
+
+    @Test
+    public void testSingleSample() {
+        var window = new SampleWindow();
+        window.setCapacity(3);
+        window.add(-2);
+
+        assertEquals(1, window.getCount());
+        assertEquals(-2, window.getAverage(), 0);
+        assertEquals(2, window.getRms(), 0);
+        assertEquals(-2, window.getMin(), 0);
+        assertEquals(-2, window.getMax(), 0);
+    }
+
+    @Test
+    public void testPartiallyFilled() {
+        var window = new SampleWindow();
+        window.setCapacity(4);
+        window.add(1);
+        window.add(5);
+        window.add(3);
+
+        assertEquals(3, window.getCount());
+        assertEquals(3, window.getAverage(), 1e-12);
+        assertEquals(Math.sqrt(35 / 3.), window.getRms(), 1e-12);
+        assertEquals(1, window.getMin(), 0);
+        assertEquals(5, window.getMax(), 0);
+    }
+
+    @Test
+    public void testOldSamplesLeaveWindow() {
+        var window = new SampleWindow();
+        window.setCapacity(2);
+        window.add(10);
+        window.add(1);
+        window.add(4);
+
+        assertEquals(2, window.getCount());
+        assertEquals(2.5, window.getAverage(), 1e-12);
+        assertEquals(1, window.getMin(), 0);
+        assertEquals(4, window.getMax(), 0);
+
+        window.add(3);
+        assertEquals(3.5, window.getAverage(), 1e-12);
+        assertEquals(3, window.getMin(), 0);
+        assertEquals(4, window.getMax(), 0);
+    }
+
+    @Test
+    public void testCapacityOfOne() {
+        var window = new SampleWindow();
+        window.setCapacity(1);
+        for (var value : new double[] { 3, -1, 7 }) {
+            window.add(value);
+            assertEquals(1, window.getCount());
+            assertEquals(value, window.getAverage(), 0);
+            assertEquals(value, window.getMin(), 0);
+            assertEquals(value, window.getMax(), 0);
+        }
+    }
+
+    @Test
+    public void testMatchesBruteForce() {
+        var random = new Random(1);
+        for (var capacity : new int[] { 1, 2, 3, 7, 16 }) {
+            var window = new SampleWindow();
+            window.setCapacity(capacity);
+            var values = new double[200];
+            for (var i = 0; i < values.length; i++) {
+                // Some repeated values, to cover ties for the minimum and maximum
+                values[i] = random.nextInt(4) == 0 ? 5 : random.nextGaussian() * 10;
+                window.add(values[i]);
+
+                var from = Math.max(0, i - capacity + 1);
+                double sum = 0, sumOfSquares = 0;
+                double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+                for (var j = from; j <= i; j++) {
+                    sum += values[j];
+                    sumOfSquares += values[j] * values[j];
+                    min = Math.min(min, values[j]);
+                    max = Math.max(max, values[j]);
+                }
+                var count = i - from + 1;
+                assertEquals(count, window.getCount());
+                assertEquals(sum / count, window.getAverage(), 1e-9);
+                assertEquals(Math.sqrt(sumOfSquares / count), window.getRms(), 1e-9);
+                assertEquals(min, window.getMin(), 0);
+                assertEquals(max, window.getMax(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testSameCapacityKeepsSamples() {
+        var window = new SampleWindow();
+        window.setCapacity(3);
+        window.add(1);
+        window.add(2);
+        window.setCapacity(3);
+
+        assertEquals(2, window.getCount());
+        assertEquals(1.5, window.getAverage(), 1e-12);
+    }
+
+    @Test
+    public void testOtherCapacityDiscardsSamples() {
+        var window = new SampleWindow();
+        window.setCapacity(3);
+        window.add(1);
+        window.add(2);
+        window.setCapacity(2);
+
+        assertEquals(0, window.getCount());
+        window.add(8);
+        assertEquals(1, window.getCount());
+        assertEquals(8, window.getAverage(), 0);
+        assertEquals(8, window.getMin(), 0);
+        assertEquals(8, window.getMax(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new SampleWindow().setCapacity(0);
+    }
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.formula.window;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+import org.yamcs.studio.data.formula.CompiledFormula;
+import org.yamcs.studio.data.vtype.ValueFactory;
+import org.yamcs.studio.data.vtype.VNumber;
+import org.yamcs.studio.data.vtype.VNumberArray;
+
+public class WindowFunctionSetTest {
+
+    private CompiledFormula formula1;
+    private CompiledFormula formula2;
+
+    @After
+    public void detach() {
+        if (formula1 != null) {
+            formula1.detach();
+        }
+        if (formula2 != null) {
+            formula2.detach();
+        }
+    }
+
+    @Test
+    public void testFunctions() {
+        formula1 = new CompiledFormula("=movingAvg('x', 3) + movingRms('x', 3) * 1000");
+        formula2 = new CompiledFormula("=windowMinMax('x', 3)");
+        formula1.attach();
+        formula2.attach();
+        for (var value : new double[] { 4, -2, 1, 7 }) {
+            var sample = ValueFactory.newVDouble(value);
+            formula1.updateInput("x", () -> sample);
+            formula2.updateInput("x", () -> sample);
+        }
+
+        // Window: -2, 1, 7
+        assertEquals(2 + Math.sqrt(54 / 3.) * 1000, number(formula1), 1e-9);
+        var minMax = ((VNumberArray) formula2.execute()).getData();
+        assertArrayEquals(new double[] { -2, 7 }, new double[] { minMax.getDouble(0), minMax.getDouble(1) }, 0);
+    }
+
+    @Test
+    public void testSamplesThatAreNotRead() {
+        formula1 = new CompiledFormula("=movingAvg('x', 2)");
+        formula1.attach();
+        set(formula1, "x", 1);
+        set(formula1, "x", 2);
+        set(formula1, "x", 6);
+
+        assertEquals(4, number(formula1), 0);
+    }
+
+    @Test
+    public void testEachFormulaHasItsOwnWindow() {
+        formula1 = new CompiledFormula("=movingAvg('x', 3)");
+        formula1.attach();
+        set(formula1, "x", 1);
+        set(formula1, "x", 2);
+
+        // Same expression, but the window starts from the value at attach time
+        formula2 = new CompiledFormula("=movingAvg('x', 3)");
+        formula2.attach();
+        var sample = ValueFactory.newVDouble(3.0);
+        formula1.updateInput("x", () -> sample);
+        formula2.updateInput("x", () -> sample);
+        assertEquals(2, number(formula1), 0);
+        assertEquals(2.5, number(formula2), 0);
+
+        formula1.detach();
+        set(formula2, "x", 7);
+        assertEquals(4, number(formula2), 0);
+    }
+
+    @Test
+    public void testWindowStartsOverWhenAttachedAgain() {
+        formula1 = new CompiledFormula("=windowMax('x', 5)");
+        formula1.attach();
+        set(formula1, "x", 10);
+        set(formula1, "x", 2);
+        assertEquals(10, number(formula1), 0);
+
+        formula1.detach();
+        assertNull(formula1.execute());
+        formula1.attach();
+        set(formula1, "x", 3);
+        assertEquals(3, number(formula1), 0);
+    }
+
+    @Test
+    public void testFailedWindowKeepsReceivingSamples() {
+        formula1 = new CompiledFormula("=movingAvg('x', 'n')");
+        formula1.attach();
+        set(formula1, "n", 0);
+        set(formula1, "x", 1);
+        try {
+            formula1.execute();
+            fail("Window size 0 should not be accepted");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+
+        // The window is updated for each change, also those that are not read
+        set(formula1, "n", 2);
+        set(formula1, "x", 3);
+        set(formula1, "x", 5);
+        assertEquals(4, number(formula1), 0);
+    }
+
+    @Test
+    public void testBatchIsOneSample() {
+        formula1 = new CompiledFormula("=movingAvg('a' + 'b', 10)");
+        formula1.attach();
+        set(formula1, "a", 1);
+        set(formula1, "b", 1);
+
+        // Not a separate sample for a mix of old and new values (2 + 1)
+        var a = ValueFactory.newVDouble(2.0);
+        var b = ValueFactory.newVDouble(3.0);
+        assertTrue(formula1.updateInputs(Map.of("a", () -> a, "b", () -> b)));
+        assertEquals((2 + 5) / 2., number(formula1), 0);
+    }
+
+    private static void set(CompiledFormula formula, String channelName, double value) {
+        var sample = ValueFactory.newVDouble(value);
+        formula.updateInput(channelName, () -> sample);
+    }
+
+    private static double number(CompiledFormula formula) {
+        return ((VNumber) formula.execute()).getValue().doubleValue();
+    }
+}
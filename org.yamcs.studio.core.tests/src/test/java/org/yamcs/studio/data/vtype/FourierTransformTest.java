@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.vtype;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class FourierTransformTest {
+
+    @Test
+    public void testPowerOfTwoLengths() {
+        for (var n : new int[] { 2, 4, 8, 64, 1024 }) {
+            assertMatchesNaiveDft(n);
+        }
+    }
+
+    @Test
+    public void testOtherLengths() {
+        // Bluestein
+        for (var n : new int[] { 3, 5, 6, 7, 12, 100, 127, 1000 }) {
+            assertMatchesNaiveDft(n);
+        }
+    }
+
+    @Test
+    public void testRepeatedTransformsOfSameLength() {
+        // Second run uses the cached plan
+        assertMatchesNaiveDft(30);
+        assertMatchesNaiveDft(30);
+    }
+
+    @Test
+    public void testSingleSample() {
+        var re = new double[] { 3 };
+        var im = new double[] { -1 };
+        FourierTransform.transform(re, im);
+        assertArrayEquals(new double[] { 3 }, re, 0);
+        assertArrayEquals(new double[] { -1 }, im, 0);
+    }
+
+    @Test
+    public void testSineHasSinglePeak() {
+        var n = 96;
+        var re = new double[n];
+        var im = new double[n];
+        for (var i = 0; i < n; i++) {
+            re[i] = Math.cos(2 * Math.PI * 5 * i / n);
+        }
+        FourierTransform.transform(re, im);
+        for (var k = 0; k < n; k++) {
+            var magnitude = Math.hypot(re[k], im[k]);
+            var expected = (k == 5 || k == n - 5) ? n / 2.0 : 0;
+            assertEquals("Bin " + k, expected, magnitude, 1e-9);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentLengths() {
+        FourierTransform.transform(new double[4], new double[3]);
+    }
+
+    @Test
+    public void testListMathDftIsNormalized() {
+        var x = new ArrayDouble(1, 2, 3, 4, 5);
+        var y = new ArrayDouble(0, 0, 0, 0, 0);
+        var result = ListMath.dft(x, y);
+        assertEquals(3, result.get(0).getDouble(0), 1e-12); // Average
+        assertEquals(0, result.get(1).getDouble(0), 1e-12);
+    }
+
+    private static void assertMatchesNaiveDft(int n) {
+        var random = new Random(n);
+        var re = new double[n];
+        var im = new double[n];
+        for (var i = 0; i < n; i++) {
+            re[i] = random.nextDouble() * 2 - 1;
+            im[i] = random.nextDouble() * 2 - 1;
+        }
+
+        var expectedRe = new double[n];
+        var expectedIm = new double[n];
+        for (var k = 0; k < n; k++) {
+            for (var t = 0; t < n; t++) {
+                var angle = -2 * Math.PI * ((long) k * t % n) / n;
+                expectedRe[k] += re[t] * Math.cos(angle) - im[t] * Math.sin(angle);
+                expectedIm[k] += re[t] * Math.sin(angle) + im[t] * Math.cos(angle);
+            }
+        }
+
+        FourierTransform.transform(re, im);
+        var tolerance = 1e-9 * n;
+        for (var k = 0; k < n; k++) {
+            assertEquals("Real part of bin " + k + " of " + n, expectedRe[k], re[k], tolerance);
+            assertEquals("Imaginary part of bin " + k + " of " + n, expectedIm[k], im[k], tolerance);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.vtype;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class VTableFactoryTest {
+
+    @Test
+    public void testJoinOnStringColumn() {
+        var names = table("id", new String[] { "a", "b", "c" }, "name", new String[] { "Alpha", "Bravo", "Charlie" });
+        var values = table("id", new String[] { "c", "a" }, "value", new double[] { 3, 1 });
+
+        var joined = VTableFactory.join(names, values);
+
+        assertEquals(Arrays.asList("id", "name", "value"), VTableFactory.columnNames(joined));
+        assertEquals(Arrays.asList("a|Alpha|1.0", "c|Charlie|3.0"), rows(joined));
+    }
+
+    @Test
+    public void testJoinDropsMissingKeys() {
+        var left = table("id", new String[] { "a", "b" }, "x", new double[] { 1, 2 });
+        var right = table("id", new String[] { "b", "z" }, "y", new double[] { 20, 260 });
+
+        var joined = VTableFactory.join(left, right);
+
+        assertEquals(Arrays.asList("b|2.0|20.0"), rows(joined));
+    }
+
+    @Test
+    public void testJoinWithoutMatches() {
+        var left = table("id", new String[] { "a", "b" }, "x", new double[] { 1, 2 });
+        var right = table("id", new String[] { "c" }, "y", new double[] { 3 });
+
+        var joined = VTableFactory.join(left, right);
+
+        assertEquals(3, joined.getColumnCount());
+        assertEquals(0, joined.getRowCount());
+    }
+
+    @Test
+    public void testJoinDuplicateKeys() {
+        // Each left row with a key is combined with each right row with that key
+        var left = table("id", new String[] { "a", "b", "a" }, "x", new double[] { 1, 2, 3 });
+        var right = table("id", new String[] { "a", "a", "b" }, "y", new double[] { 10, 11, 20 });
+
+        var joined = VTableFactory.join(left, right);
+
+        assertEquals(Arrays.asList("a|1.0|10.0", "a|1.0|11.0", "b|2.0|20.0", "a|3.0|10.0", "a|3.0|11.0"),
+                rows(joined));
+    }
+
+    @Test
+    public void testJoinOnNumericColumn() {
+        var left = table("n", new double[] { 1, 2, 2 }, "x", new String[] { "one", "two", "deux" });
+        var right = table("n", new double[] { 2, 3 }, "y", new String[] { "zwei", "drei" });
+
+        var joined = VTableFactory.join(left, right);
+
+        assertEquals(Arrays.asList("2.0|two|zwei", "2.0|deux|zwei"), rows(joined));
+    }
+
+    @Test
+    public void testJoinOnMultipleColumns() {
+        var left = table(Arrays.asList("a", "b", "x"), new String[] { "1", "1", "2" }, new String[] { "p", "q", "p" },
+                new double[] { 1, 2, 3 });
+        var right = table(Arrays.asList("b", "a", "y"), new String[] { "q", "p", "p" },
+                new String[] { "1", "1", "2" }, new double[] { 20, 10, 30 });
+
+        var joined = VTableFactory.join(left, right);
+
+        assertEquals(Arrays.asList("a", "b", "x", "y"), VTableFactory.columnNames(joined));
+        assertEquals(Arrays.asList("1|p|1.0|10.0", "1|q|2.0|20.0", "2|p|3.0|30.0"), rows(joined));
+    }
+
+    @Test
+    public void testJoinThreeTables() {
+        var first = table("id", new String[] { "a", "b", "c" }, "x", new double[] { 1, 2, 3 });
+        var second = table("id", new String[] { "b", "c", "c" }, "y", new double[] { 20, 30, 31 });
+        var third = table("id", new String[] { "c", "b", "d" }, "z", new double[] { 300, 200, 400 });
+
+        var joined = VTableFactory.join(first, second, third);
+
+        assertEquals(Arrays.asList("id", "x", "y", "z"), VTableFactory.columnNames(joined));
+        assertEquals(Arrays.asList("b|2.0|20.0|200.0", "c|3.0|30.0|300.0", "c|3.0|31.0|300.0"), rows(joined));
+    }
+
+    @Test
+    public void testJoinTrivialCases() {
+        var table = table("id", new String[] { "a" }, "x", new double[] { 1 });
+
+        assertSame(table, VTableFactory.join(table));
+        assertNull(VTableFactory.join());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testJoinWithoutCommonColumns() {
+        var left = table("id", new String[] { "a" }, "x", new double[] { 1 });
+        var right = table("key", new String[] { "a" }, "y", new double[] { 1 });
+        VTableFactory.join(left, right);
+    }
+
+    private static VTable table(String name1, Object data1, String name2, Object data2) {
+        return table(Arrays.asList(name1, name2), data1, data2);
+    }
+
+    private static VTable table(List<String> names, Object... data) {
+        var types = new ArrayList<Class<?>>();
+        var columns = new ArrayList<Object>();
+        for (var column : data) {
+            if (column instanceof String[]) {
+                types.add(String.class);
+                columns.add(Arrays.asList((String[]) column));
+            } else {
+                types.add(double.class);
+                columns.add(new ArrayDouble((double[]) column));
+            }
+        }
+        return ValueFactory.newVTable(types, names, columns);
+    }
+
+    /**
+     * Renders each row as its cell values, separated by '|'
+     */
+    private static List<String> rows(VTable table) {
+        var rows = new ArrayList<String>();
+        for (var row = 0; row < table.getRowCount(); row++) {
+            var cells = new ArrayList<String>();
+            for (var column = 0; column < table.getColumnCount(); column++) {
+                var data = table.getColumnData(column);
+                if (data instanceof ListNumber) {
+                    cells.add(String.valueOf(((ListNumber) data).getDouble(row)));
+                } else {
+                    cells.add(String.valueOf(((List<?>) data).get(row)));
+                }
+            }
+            rows.add(String.join("|", cells));
+        }
+        return rows;
+    }
+}
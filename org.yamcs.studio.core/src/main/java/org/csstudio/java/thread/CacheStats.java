@@ -13,7 +13,7 @@ package org.csstudio.java.thread;
  * Cache statistics
  */
 public class CacheStats {
-    final long hits, misses, expirations, total;
+    final long hits, misses, expirations, evictions, total;
 
     /**
      * Initialize
@@ -23,10 +23,23 @@ public class CacheStats {
      * @param expirations
      */
     CacheStats(long hits, long misses, long expirations) {
+        this(hits, misses, expirations, 0);
+    }
+
+    /**
+     * Initialize
+     *
+     * @param hits
+     * @param misses
+     * @param expirations
+     * @param evictions
+     */
+    CacheStats(long hits, long misses, long expirations, long evictions) {
         this.hits = hits;
         this.misses = misses;
         this.expirations = expirations;
-        total = hits + misses + expirations;
+        this.evictions = evictions;
+        total = hits + misses;
     }
 
     /** @return hits */
@@ -39,11 +52,16 @@ public class CacheStats {
         return misses;
     }
 
-    /** @return expirations */
+    /** @return number of entries removed because they expired, whether on access or not */
     public long getExpirations() {
         return expirations;
     }
 
+    /** @return number of entries removed because the cache was full */
+    public long getEvictions() {
+        return evictions;
+    }
+
     /** @return total number of cache accesses */
     public long getTotal() {
         return total;
@@ -58,7 +76,10 @@ public class CacheStats {
         var buf = new StringBuilder();
         buf.append("Cache hits=").append(hits).append(" (").append(hits * 100 / total).append("%), ");
         buf.append("misses=").append(misses).append(" (").append(misses * 100 / total).append("%), ");
-        buf.append("expirations=").append(expirations).append(" (").append(expirations * 100 / total).append("%)");
+        buf.append("expirations=").append(expirations);
+        if (evictions > 0) {
+            buf.append(", evictions=").append(evictions);
+        }
         return buf.toString();
     }
 }
@@ -9,53 +9,58 @@
  ********************************************************************************/
 package org.csstudio.java.thread;
 
-import java.util.concurrent.ExecutorService;
+import java.util.List;
+import java.util.concurrent.Delayed;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Service for the execution of asynchronous tasks using thread pools.
+ * <p>
+ * Threads are started when tasks are submitted, up to a maximum that depends on the number of processors, and stop
+ * again after they have been idle for a while. Per-pool statistics are available from {@link #getExecutorStats()}.
  */
 public class ExecutionService {
 
     private static ExecutionService _instance;
 
-    private static final int HIGH_PRIORITY_THREADS = 20;
-    private static final int NORMAL_PRIORITY_THREADS = 20;
-    private static final int LOW_PRIORITY_THREADS = 20;
+    private static final int PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+    // Tasks may block on I/O, so allow more threads than processors
+    private static final int HIGH_PRIORITY_THREADS = Math.min(20, Math.max(4, 2 * PROCESSORS));
+    private static final int NORMAL_PRIORITY_THREADS = Math.min(20, Math.max(4, 2 * PROCESSORS));
+    private static final int LOW_PRIORITY_THREADS = Math.min(20, Math.max(2, PROCESSORS));
     private static final int SCHEDULED_THREADS = 3;
 
-    private static LinkedBlockingQueue<Runnable> _lowPriorityQueue;
-    private static LinkedBlockingQueue<Runnable> _normalPriorityQueue;
-    private static LinkedBlockingQueue<Runnable> _highPriorityQueue;
+    /** How long an idle thread is kept, in seconds */
+    private static final long KEEP_ALIVE = 60;
 
-    private ScheduledExecutorService _scheduledExecutorService;
-    private ExecutorService _lowPriorityExectorService;
-    private ExecutorService _normalPriorityExectorService;
-    private ExecutorService _highPriorityExecutorService;
+    private InstrumentedScheduledExecutor _scheduledExecutorService;
+    private InstrumentedExecutor _lowPriorityExectorService;
+    private InstrumentedExecutor _normalPriorityExectorService;
+    private InstrumentedExecutor _highPriorityExecutorService;
 
     private ExecutionService() {
-        _lowPriorityQueue = new LinkedBlockingQueue<>();
-        _normalPriorityQueue = new LinkedBlockingQueue<>();
-        _highPriorityQueue = new LinkedBlockingQueue<>();
-
-        _lowPriorityExectorService = new ThreadPoolExecutor(LOW_PRIORITY_THREADS, LOW_PRIORITY_THREADS, 0L,
-                TimeUnit.MILLISECONDS, _lowPriorityQueue, new CssThreadFactory(Thread.MIN_PRIORITY));
+        _lowPriorityExectorService = new InstrumentedExecutor("low-priority", LOW_PRIORITY_THREADS,
+                new CssThreadFactory(Thread.MIN_PRIORITY));
 
-        _normalPriorityExectorService = new ThreadPoolExecutor(NORMAL_PRIORITY_THREADS, NORMAL_PRIORITY_THREADS, 0L,
-                TimeUnit.MILLISECONDS, _normalPriorityQueue, new CssThreadFactory(Thread.NORM_PRIORITY));
+        _normalPriorityExectorService = new InstrumentedExecutor("normal-priority", NORMAL_PRIORITY_THREADS,
+                new CssThreadFactory(Thread.NORM_PRIORITY));
 
-        _highPriorityExecutorService = new ThreadPoolExecutor(HIGH_PRIORITY_THREADS, HIGH_PRIORITY_THREADS, 0L,
-                TimeUnit.MILLISECONDS, _highPriorityQueue, new CssThreadFactory(Thread.MAX_PRIORITY));
+        _highPriorityExecutorService = new InstrumentedExecutor("high-priority", HIGH_PRIORITY_THREADS,
+                new CssThreadFactory(Thread.MAX_PRIORITY));
 
-        _scheduledExecutorService = Executors.newScheduledThreadPool(SCHEDULED_THREADS);
+        _scheduledExecutorService = new InstrumentedScheduledExecutor("scheduled", SCHEDULED_THREADS);
     }
 
     /**
@@ -95,21 +100,21 @@ public class ExecutionService {
      * Returns the number of runnables waiting for execution with high priority.
      */
     public int getHighPriorityQueueSize() {
-        return _highPriorityQueue.size();
+        return _highPriorityExecutorService.getQueue().size();
     }
 
     /**
      * Returns the number of runnables waiting for execution with normal priority.
      */
     public int getNormalPriorityQueueSize() {
-        return _normalPriorityQueue.size();
+        return _normalPriorityExectorService.getQueue().size();
     }
 
     /**
      * Returns the number of runnables waiting for execution with low priority.
      */
     public int getLowPriorityQueueSize() {
-        return _lowPriorityQueue.size();
+        return _lowPriorityExectorService.getQueue().size();
     }
 
     /**
@@ -122,20 +127,132 @@ public class ExecutionService {
         doRun(_lowPriorityExectorService, runnable);
     }
 
-    private void doRun(ExecutorService service, Runnable runnable) {
-        service.execute(() -> {
+    private void doRun(InstrumentedExecutor service, Runnable runnable) {
+        service.execute(new SubmittedTask(() -> {
             try {
                 runnable.run();
             } catch (Throwable t) {
                 Logger.getLogger(getClass().getName()).log(Level.SEVERE, t.getMessage(), t);
             }
-        });
+        }));
     }
 
     public ScheduledExecutorService getScheduledExecutorService() {
         return _scheduledExecutorService;
     }
 
+    /**
+     * Returns a snapshot of the statistics of each thread pool: high, normal and low priority, and scheduled.
+     */
+    public List<ExecutorStats> getExecutorStats() {
+        return List.of(
+                _highPriorityExecutorService.metrics.getStats(_highPriorityExecutorService),
+                _normalPriorityExectorService.metrics.getStats(_normalPriorityExectorService),
+                _lowPriorityExectorService.metrics.getStats(_lowPriorityExectorService),
+                _scheduledExecutorService.metrics.getStats(_scheduledExecutorService));
+    }
+
+    /**
+     * Remembers when a task was submitted
+     */
+    private static class SubmittedTask implements Runnable {
+        final Runnable runnable;
+        final long submitted = System.nanoTime();
+
+        SubmittedTask(Runnable runnable) {
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run() {
+            runnable.run();
+        }
+    }
+
+    /**
+     * Wait and run times of the tasks of a thread pool
+     */
+    private static class PoolMetrics {
+        final String name;
+        final LongAdder completedTasks = new LongAdder();
+        final LongAdder totalWaitNanos = new LongAdder();
+        final LongAdder totalRunNanos = new LongAdder();
+        final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+        final ThreadLocal<long[]> startTime = ThreadLocal.withInitial(() -> new long[1]);
+
+        PoolMetrics(String name) {
+            this.name = name;
+        }
+
+        void beforeExecute(Runnable r) {
+            var now = System.nanoTime();
+            var wait = 0L;
+            if (r instanceof SubmittedTask) {
+                wait = now - ((SubmittedTask) r).submitted;
+            } else if (r instanceof Delayed) {
+                // A scheduled task that is late has a negative delay
+                wait = Math.max(0, -((Delayed) r).getDelay(TimeUnit.NANOSECONDS));
+            }
+            totalWaitNanos.add(wait);
+            maxWaitNanos.accumulate(wait);
+            startTime.get()[0] = now;
+        }
+
+        void afterExecute() {
+            totalRunNanos.add(System.nanoTime() - startTime.get()[0]);
+            completedTasks.increment();
+        }
+
+        ExecutorStats getStats(ThreadPoolExecutor executor) {
+            return new ExecutorStats(name, executor.getPoolSize(), executor.getCorePoolSize(),
+                    executor.getActiveCount(), executor.getQueue().size(), completedTasks.sum(),
+                    totalWaitNanos.sum(), totalRunNanos.sum(), maxWaitNanos.get());
+        }
+    }
+
+    private static class InstrumentedExecutor extends ThreadPoolExecutor {
+        final PoolMetrics metrics;
+
+        InstrumentedExecutor(String name, int threads, ThreadFactory threadFactory) {
+            // With an unbounded queue, the pool never grows beyond the core size.
+            // Core threads time out too, so that the pool shrinks when idle.
+            super(threads, threads, KEEP_ALIVE, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+            allowCoreThreadTimeOut(true);
+            metrics = new PoolMetrics(name);
+        }
+
+        @Override
+        protected void beforeExecute(Thread t, Runnable r) {
+            metrics.beforeExecute(r);
+        }
+
+        @Override
+        protected void afterExecute(Runnable r, Throwable t) {
+            metrics.afterExecute();
+        }
+    }
+
+    private static class InstrumentedScheduledExecutor extends ScheduledThreadPoolExecutor {
+        final PoolMetrics metrics;
+
+        InstrumentedScheduledExecutor(String name, int threads) {
+            super(threads, Executors.defaultThreadFactory());
+            setKeepAliveTime(KEEP_ALIVE, TimeUnit.SECONDS);
+            allowCoreThreadTimeOut(true);
+            metrics = new PoolMetrics(name);
+        }
+
+        @Override
+        protected void beforeExecute(Thread t, Runnable r) {
+            metrics.beforeExecute(r);
+        }
+
+        @Override
+        protected void afterExecute(Runnable r, Throwable t) {
+            metrics.afterExecute();
+        }
+    }
+
     private static class CssThreadFactory implements ThreadFactory {
         static final AtomicInteger poolNumber = new AtomicInteger(1);
         ThreadGroup group;
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.csstudio.java.thread;
+
+/**
+ * Statistics of one of the thread pools of {@link ExecutionService}
+ */
+public class ExecutorStats {
+    final String name;
+    final int poolSize, maxPoolSize, activeCount, queueSize;
+    final long completedTasks, totalWaitNanos, totalRunNanos, maxWaitNanos;
+
+    ExecutorStats(String name, int poolSize, int maxPoolSize, int activeCount, int queueSize, long completedTasks,
+            long totalWaitNanos, long totalRunNanos, long maxWaitNanos) {
+        this.name = name;
+        this.poolSize = poolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.activeCount = activeCount;
+        this.queueSize = queueSize;
+        this.completedTasks = completedTasks;
+        this.totalWaitNanos = totalWaitNanos;
+        this.totalRunNanos = totalRunNanos;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    /** @return name of the pool */
+    public String getName() {
+        return name;
+    }
+
+    /** @return number of threads that currently exist */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /** @return maximum number of threads */
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /** @return number of threads that are running a task */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /** @return number of tasks waiting for a thread (or, for scheduled tasks, for their time) */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /** @return number of tasks that finished running */
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    /** @return average time in milliseconds between the moment a task was due and the moment it started */
+    public double getAverageWaitTime() {
+        return completedTasks > 0 ? totalWaitNanos / 1e6 / completedTasks : 0;
+    }
+
+    /** @return longest time in milliseconds that a task had to wait before it started */
+    public double getMaxWaitTime() {
+        return maxWaitNanos / 1e6;
+    }
+
+    /** @return average time in milliseconds that a task was running */
+    public double getAverageRunTime() {
+        return completedTasks > 0 ? totalRunNanos / 1e6 / completedTasks : 0;
+    }
+
+    /** @return Info text suitable for display */
+    @Override
+    public String toString() {
+        return String.format("%s: threads=%d/%d, active=%d, queued=%d, completed=%d, wait=%.2f ms (max %.2f ms), "
+                + "run=%.2f ms", name, poolSize, maxPoolSize, activeCount, queueSize, completedTasks,
+                getAverageWaitTime(), getMaxWaitTime(), getAverageRunTime());
+    }
+}
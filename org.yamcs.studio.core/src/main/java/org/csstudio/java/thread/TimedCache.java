@@ -9,44 +9,115 @@
  *******************************************************************************/
 package org.csstudio.java.thread;
 
-import java.util.HashMap;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Thread-safe Cache for anything that times out after some time.
+ * <p>
+ * Entries are spread over independently locked segments, so that threads using different keys rarely block each
+ * other. Each segment evicts its least recently used entry when full, which bounds the size of the cache to
+ * (approximately) the configured maximum. Expired entries are removed when read, and periodically in the background
+ * until the cache is {@link #close() closed}.
  */
 public class TimedCache<KEYTYPE, VALUETYPE> {
+
+    /** Maximum number of entries, unless specified otherwise */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    private static final int MAX_SEGMENTS = 64;
+
     /**
-     * Map KEY to { VALUE, Date when put into map } KEYTYPE can be any type, VALUETYPE can be any type (types determined
-     * when class instance created)
+     * Segments that map KEY to { VALUE, Date when put into map } KEYTYPE can be any type, VALUETYPE can be any type
+     * (types determined when class instance created)
      */
-    final private Map<KEYTYPE, TimedCacheEntry<VALUETYPE>> map = new HashMap<>();
+    final private Segment<KEYTYPE, VALUETYPE>[] segments;
 
     /** How long items are considered 'valid' in seconds */
     final private long timeout_secs;
 
     /** Number of successful cache hists */
-    private long hits = 0;
+    final private LongAdder hits = new LongAdder();
 
     /** Number of failed cache hists */
-    private long misses = 0;
+    final private LongAdder misses = new LongAdder();
 
     /** Number of entries that expired */
-    private long exirations = 0;
+    final private LongAdder expirations = new LongAdder();
+
+    /** Number of entries that were removed to make room for others */
+    final private LongAdder evictions = new LongAdder();
+
+    final private Sweeper sweeper;
 
     /**
-     * Initialize cache
+     * Initialize cache for up to {@link #DEFAULT_MAX_SIZE} entries
      *
      * @param timeout_secs
      *            How long items are considered 'valid' in seconds
      */
     public TimedCache(long timeout_secs) {
+        this(timeout_secs, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Initialize cache
+     *
+     * @param timeout_secs
+     *            How long items are considered 'valid' in seconds
+     * @param max_size
+     *            Maximum number of entries
+     */
+    @SuppressWarnings("unchecked")
+    public TimedCache(long timeout_secs, int max_size) {
+        if (max_size < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
         this.timeout_secs = timeout_secs;
+
+        // Power of two, so that a segment can be selected with a mask. Segments
+        // need some room, or LRU eviction would mostly depend on the key hash.
+        var segmentCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, max_size / 16)));
+        var segmentSize = (max_size + segmentCount - 1) / segmentCount;
+        segments = new Segment[segmentCount];
+        for (var i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentSize, evictions);
+        }
+
+        // The sweeper must not keep an unused cache alive
+        var period = Math.max(1, timeout_secs);
+        sweeper = new Sweeper(new WeakReference<>(this));
+        sweeper.future = ExecutionService.getInstance().getScheduledExecutorService()
+                .scheduleWithFixedDelay(sweeper, period, period, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops removing expired entries in the background. The cache remains usable, expired entries are then only
+     * removed when read, or on {@link #cleanup()}.
+     */
+    public void close() {
+        sweeper.future.cancel(false);
     }
 
     /** @return Cache statistics */
-    public synchronized CacheStats getCacheStats() {
-        return new CacheStats(hits, misses, exirations);
+    public CacheStats getCacheStats() {
+        return new CacheStats(hits.sum(), misses.sum(), expirations.sum(), evictions.sum());
+    }
+
+    /** @return Current number of entries, including those that expired but were not yet removed */
+    public int size() {
+        var size = 0;
+        for (var segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
     }
 
     /**
@@ -55,22 +126,25 @@ public class TimedCache<KEYTYPE, VALUETYPE> {
      * @param key
      * @return Cached entry or <code>null</code> when not found or timed out
      */
-    public synchronized TimedCacheEntry<VALUETYPE> getEntry(KEYTYPE key) {
-        var entry = map.get(key);
+    public TimedCacheEntry<VALUETYPE> getEntry(KEYTYPE key) {
+        var segment = segmentFor(key);
+        TimedCacheEntry<VALUETYPE> entry;
+        synchronized (segment) {
+            entry = segment.get(key);
+            // Value is too old?
+            if (entry != null && !entry.isStillValid()) {
+                segment.remove(key);
+                expirations.increment();
+                entry = null;
+            }
+        }
         // Is there a matching entry?
         if (entry == null) {
-            ++misses;
+            misses.increment();
             return null;
         }
-        // Is it still valid?
-        if (entry.isStillValid()) {
-            ++hits;
-            return entry;
-        }
-        // Value is too old:
-        ++exirations;
-        map.remove(key);
-        return null;
+        hits.increment();
+        return entry;
     }
 
     /**
@@ -94,19 +168,79 @@ public class TimedCache<KEYTYPE, VALUETYPE> {
      * @param value
      * @return Cache entry
      */
-    public synchronized TimedCacheEntry<VALUETYPE> remember(KEYTYPE key, VALUETYPE value) {
+    public TimedCacheEntry<VALUETYPE> remember(KEYTYPE key, VALUETYPE value) {
         var entry = new TimedCacheEntry<>(value, timeout_secs);
-        map.put(key, entry);
+        var segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, entry);
+        }
         return entry;
     }
 
     /** Use if need to get rid of all expired cache entries */
-    public synchronized void cleanup() {
-        var keys = map.keySet().iterator();
-        while (keys.hasNext()) {
-            var key = keys.next();
-            if (!map.get(key).isStillValid()) {
-                map.remove(key);
+    public void cleanup() {
+        for (var segment : segments) {
+            synchronized (segment) {
+                for (var it = segment.values().iterator(); it.hasNext();) {
+                    if (!it.next().isStillValid()) {
+                        it.remove();
+                        expirations.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    private Segment<KEYTYPE, VALUETYPE> segmentFor(KEYTYPE key) {
+        var h = Objects.hashCode(key);
+        return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+    }
+
+    /**
+     * Entries in access order, so that the eldest entry is the least recently used one
+     */
+    private static class Segment<KEYTYPE, VALUETYPE> extends LinkedHashMap<KEYTYPE, TimedCacheEntry<VALUETYPE>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        private final LongAdder evictions;
+
+        Segment(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<KEYTYPE, TimedCacheEntry<VALUETYPE>> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Periodically removes expired entries, until the cache is no longer used.
+     */
+    private static class Sweeper implements Runnable {
+
+        private final WeakReference<TimedCache<?, ?>> cacheRef;
+        private volatile ScheduledFuture<?> future;
+
+        Sweeper(WeakReference<TimedCache<?, ?>> cacheRef) {
+            this.cacheRef = cacheRef;
+        }
+
+        @Override
+        public void run() {
+            var cache = cacheRef.get();
+            if (cache != null) {
+                cache.cleanup();
+            } else if (future != null) {
+                future.cancel(false);
             }
         }
     }
@@ -9,8 +9,6 @@
  *******************************************************************************/
 package org.csstudio.java.thread;
 
-import java.util.Date;
-
 /**
  * Entry in the {@link TimedCache}
  */
@@ -43,7 +41,6 @@ public class TimedCacheEntry<VALUETYPE> {
 
     /** @return <code>true</code> if entry is still valid */
     public boolean isStillValid() {
-        var now = new Date();
-        return now.before(header.getExpirationDate());
+        return System.currentTimeMillis() < header.getExpirationDate().getTime();
     }
 }
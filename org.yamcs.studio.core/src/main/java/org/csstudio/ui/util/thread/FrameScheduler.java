@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.csstudio.ui.util.thread;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A singleton back thread that paces the UI updates of multiple sources, such as {@link UIBundlingThread}.
+ * <p>
+ * A source requests a frame when it has work queued. The frame is then processed right away, unless the previous frame
+ * of that source is more recent than its frame interval, in which case it is delayed until the interval has passed.
+ * When no frames are requested, the thread waits without polling.
+ */
+public final class FrameScheduler implements Runnable {
+
+    private static final Logger log = Logger.getLogger(FrameScheduler.class.getName());
+
+    /**
+     * Producer of UI updates.
+     */
+    public interface FrameSource {
+
+        /**
+         * @return Minimum time between the start of two frames, in milliseconds
+         */
+        int getFrameInterval();
+
+        /**
+         * Processes the work that is queued for this source. Called on the scheduler thread, so implementations should
+         * hand off to the UI thread (in one go) as needed.
+         */
+        void processFrame();
+    }
+
+    private static FrameScheduler instance;
+
+    private final Set<FrameSource> requested = new LinkedHashSet<>();
+    private final Map<FrameSource, Long> lastFrameTime = new HashMap<>(); // System.nanoTime()
+
+    private FrameScheduler() {
+        var thread = new Thread(this, "UI Frame Scheduler");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the singleton instance
+     */
+    public static synchronized FrameScheduler getInstance() {
+        if (instance == null) {
+            instance = new FrameScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * Requests a frame for the given source. Requests for a source that already has a pending frame have no effect.
+     */
+    public synchronized void requestFrame(FrameSource source) {
+        if (requested.add(source)) {
+            notifyAll();
+        }
+    }
+
+    @Override
+    public void run() {
+        var due = new ArrayList<FrameSource>();
+        while (true) {
+            try {
+                waitForDueFrames(due);
+            } catch (InterruptedException e) {
+                // ignore
+                continue;
+            }
+            for (var source : due) {
+                try {
+                    source.processFrame();
+                } catch (Exception e) {
+                    log.log(Level.WARNING, "Failed to process frame", e);
+                }
+            }
+            due.clear();
+        }
+    }
+
+    /**
+     * Blocks until at least one requested frame is due, and moves all frames that are due to the given list.
+     */
+    private synchronized void waitForDueFrames(ArrayList<FrameSource> due) throws InterruptedException {
+        while (true) {
+            if (requested.isEmpty()) {
+                wait();
+                continue;
+            }
+
+            // Monotonic, so that frames are not delayed or rushed by changes of the wall clock
+            var now = System.nanoTime();
+            var nextDelay = Long.MAX_VALUE;
+            for (var it = requested.iterator(); it.hasNext();) {
+                var source = it.next();
+                var last = lastFrameTime.get(source);
+                var delay = (last != null) ? last + TimeUnit.MILLISECONDS.toNanos(source.getFrameInterval()) - now : 0;
+                if (delay <= 0) {
+                    it.remove();
+                    lastFrameTime.put(source, now);
+                    due.add(source);
+                } else {
+                    nextDelay = Math.min(nextDelay, delay);
+                }
+            }
+            if (!due.isEmpty()) {
+                return;
+            }
+            // Round up, waking up early would only cause another wait
+            wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextDelay + 999_999)));
+        }
+    }
+}
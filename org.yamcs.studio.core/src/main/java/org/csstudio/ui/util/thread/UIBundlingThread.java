@@ -9,11 +9,13 @@
  *******************************************************************************/
 package org.csstudio.ui.util.thread;
 
+import java.util.ArrayList;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import org.csstudio.ui.util.thread.FrameScheduler.FrameSource;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.PlatformUI;
 
@@ -22,17 +24,22 @@ import org.eclipse.ui.PlatformUI;
  * A singleton back thread which will help to execute tasks in UI thread. This way we avoid slow downs, that occur on
  * several operating systems, when Display.asyncExec() is called very often from background threads.
  *
- * This thread sleeps for a time, which is below the processing capacity of human eyes and brain - so the user will not
- * feel any delay.
+ * Queued tasks are executed in frames of the {@link FrameScheduler}, at most once every FRAME_INTERVAL milliseconds.
+ * This is below the processing capacity of human eyes and brain - so the user will not feel any delay.
  */
-public final class UIBundlingThread implements Runnable {
+public final class UIBundlingThread implements FrameSource {
+
+    private static final Logger log = Logger.getLogger(UIBundlingThread.class.getName());
+
+    private static final int FRAME_INTERVAL = 20;
+
     /**
      * The singleton instance.
      */
     private static UIBundlingThread instance;
 
     /**
-     * A queue, which contains runnables that process the events that occured during the last SLEEP_TIME milliseconds.
+     * A queue, which contains runnables that process the events that occured during the last FRAME_INTERVAL milliseconds.
      */
     private Queue<Runnable> tasksQueue;
 
@@ -51,7 +58,6 @@ public final class UIBundlingThread implements Runnable {
                 display = Display.getDefault();
             }
         }
-        Executors.newScheduledThreadPool(1).scheduleAtFixedRate(this, 100, 20, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -68,19 +74,30 @@ public final class UIBundlingThread implements Runnable {
     }
 
     @Override
-    public void run() {
-        if (!tasksQueue.isEmpty()) {
-            processQueue();
-        }
+    public int getFrameInterval() {
+        return FRAME_INTERVAL;
     }
 
     /**
-     * Process the complete queue.
+     * Process the complete queue, with a single call to the UI thread.
      */
-    private synchronized void processQueue() {
+    @Override
+    public synchronized void processFrame() {
+        var runnables = new ArrayList<Runnable>(tasksQueue.size());
         Runnable r;
         while ((r = tasksQueue.poll()) != null) {
-            display.asyncExec(r);
+            runnables.add(r);
+        }
+        if (!runnables.isEmpty()) {
+            display.asyncExec(() -> {
+                for (var runnable : runnables) {
+                    try {
+                        runnable.run();
+                    } catch (Exception e) {
+                        log.log(Level.WARNING, "Failed to execute UI task", e);
+                    }
+                }
+            });
         }
     }
 
@@ -92,6 +109,7 @@ public final class UIBundlingThread implements Runnable {
      */
     public synchronized void addRunnable(Runnable runnable) {
         tasksQueue.add(runnable);
+        FrameScheduler.getInstance().requestFrame(this);
     }
 
     /**
@@ -20,7 +20,6 @@ import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.swt.widgets.Display;
 import org.yamcs.client.ClientException;
 import org.yamcs.client.YamcsClient;
-import org.yamcs.client.mdb.MissionDatabaseClient.ListOptions;
 import org.yamcs.protobuf.GetServerInfoResponse;
 import org.yamcs.protobuf.ProcessorInfo;
 import org.yamcs.protobuf.UserInfo;
@@ -150,26 +149,7 @@ public class ContextSwitcher implements IRunnableWithProgress {
     private MissionDatabase loadMissionDatabase(IProgressMonitor monitor)
             throws InterruptedException, java.util.concurrent.ExecutionException {
         monitor.subTask("Loading mission database");
-        var missionDatabase = new MissionDatabase();
-
-        var mdbClient = yamcsClient.createMissionDatabaseClient(instance);
-        log.fine("Fetching available parameters");
-        var page = mdbClient.listParameters(ListOptions.limit(500)).get();
-        page.iterator().forEachRemaining(missionDatabase::addParameter);
-        while (page.hasNextPage()) {
-            page = page.getNextPage().get();
-            page.iterator().forEachRemaining(missionDatabase::addParameter);
-        }
-
-        log.fine("Fetching available commands");
-        var commandPage = mdbClient.listCommands(ListOptions.limit(200)).get();
-        commandPage.iterator().forEachRemaining(missionDatabase::addCommand);
-        while (commandPage.hasNextPage()) {
-            commandPage = commandPage.getNextPage().get();
-            commandPage.iterator().forEachRemaining(missionDatabase::addCommand);
-        }
-        log.info(String.format("Loaded %d parameters and %d commands", missionDatabase.getParameterCount(),
-                missionDatabase.getCommandCount()));
-        return missionDatabase;
+        var instanceInfo = yamcsClient.getInstance(instance).get();
+        return MissionDatabaseLoader.load(monitor, yamcsClient, serverInfo, instanceInfo);
     }
 }
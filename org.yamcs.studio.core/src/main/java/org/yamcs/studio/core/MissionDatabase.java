@@ -11,6 +11,7 @@ package org.yamcs.studio.core;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +31,9 @@ public class MissionDatabase {
     private Map<String, CommandInfo> commandsByQualifiedName = new LinkedHashMap<>();
     private Map<NamedObjectId, String> unitsById = new ConcurrentHashMap<>();
 
+    // Type tree of each parameter, indexed by member name and array entry
+    private Map<String, TypePath> typePathsByQualifiedName = new HashMap<>();
+
     public void addParameter(ParameterInfo parameter) {
         parameters.add(parameter);
         var id = NamedObjectId.newBuilder().setName(parameter.getQualifiedName()).build();
@@ -37,6 +41,7 @@ public class MissionDatabase {
         for (var alias : parameter.getAliasList()) {
             parametersById.put(alias, parameter);
         }
+        typePathsByQualifiedName.put(parameter.getQualifiedName(), new TypePath(parameter.getType()));
 
         // Update unit index
         if (parameter.hasType() && parameter.getType().getUnitSetCount() > 0) {
@@ -101,39 +106,11 @@ public class MissionDatabase {
             return null;
         }
 
-        var qualifiedNameWithSuffix = parameter.getQualifiedName();
-        if (suffix != null) {
-            qualifiedNameWithSuffix += suffix;
-        }
-
-        return findMatchingParameterType(parameter.getType(), parameter.getQualifiedName(), qualifiedNameWithSuffix);
-    }
-
-    private ParameterTypeInfo findMatchingParameterType(ParameterTypeInfo parent, String parentName,
-            String qualifiedNameWithSuffix) {
-        if (parent == null) {
+        var typePath = typePathsByQualifiedName.get(parameter.getQualifiedName());
+        if (typePath == null) {
             return null;
-        } else if (qualifiedNameWithSuffix.matches(parentName)) {
-            return parent;
-        } else {
-            for (var member : parent.getMemberList()) {
-                var memberType = member.getType();
-                var name = parentName + "." + member.getName();
-                var match = findMatchingParameterType(memberType, name, qualifiedNameWithSuffix);
-                if (match != null) {
-                    return match;
-                }
-            }
-            if (parent.hasArrayInfo()) {
-                var entryType = parent.getArrayInfo().getType();
-                var name = parentName + "\\[[0-9]+\\]";
-                var match = findMatchingParameterType(entryType, name, qualifiedNameWithSuffix);
-                if (match != null) {
-                    return match;
-                }
-            }
         }
-        return null;
+        return suffix != null ? typePath.find(suffix) : typePath.type;
     }
 
     public String getCombinedUnit(NamedObjectId id) {
@@ -170,4 +147,62 @@ public class MissionDatabase {
             return new String[] { name, null };
         }
     }
+
+    /**
+     * A node in the type tree of a parameter, with its aggregate members and array entries.
+     */
+    private static class TypePath {
+
+        private final ParameterTypeInfo type;
+        private Map<String, TypePath> members;
+        private TypePath entry;
+
+        TypePath(ParameterTypeInfo type) {
+            this.type = type;
+            if (type.getMemberCount() > 0) {
+                members = new HashMap<>(type.getMemberCount() * 2);
+                for (var member : type.getMemberList()) {
+                    members.put(member.getName(), new TypePath(member.getType()));
+                }
+            }
+            if (type.hasArrayInfo()) {
+                entry = new TypePath(type.getArrayInfo().getType());
+            }
+        }
+
+        /**
+         * Resolves a path such as ".f[3].heh" against this type.
+         */
+        ParameterTypeInfo find(String path) {
+            var node = this;
+            var i = 0;
+            while (i < path.length()) {
+                var c = path.charAt(i);
+                if (c == '.') {
+                    var end = i + 1;
+                    while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                        end++;
+                    }
+                    node = node.members != null ? node.members.get(path.substring(i + 1, end)) : null;
+                    i = end;
+                } else if (c == '[') {
+                    var end = i + 1;
+                    while (end < path.length() && Character.isDigit(path.charAt(end))) {
+                        end++;
+                    }
+                    if (end == i + 1 || end == path.length() || path.charAt(end) != ']') {
+                        return null;
+                    }
+                    node = node.entry;
+                    i = end + 1;
+                } else {
+                    return null;
+                }
+                if (node == null) {
+                    return null;
+                }
+            }
+            return node.type;
+        }
+    }
 }
@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.csstudio.java.thread.ExecutionService;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.yamcs.client.Page;
+import org.yamcs.client.YamcsClient;
+import org.yamcs.client.mdb.MissionDatabaseClient.ListOptions;
+import org.yamcs.protobuf.GetServerInfoResponse;
+import org.yamcs.protobuf.Mdb.CommandInfo;
+import org.yamcs.protobuf.Mdb.ParameterInfo;
+import org.yamcs.protobuf.YamcsInstance;
+
+/**
+ * Loads the mission database of an instance.
+ * <p>
+ * A snapshot of each downloaded MDB is kept in the workspace, one file per server and instance. On next load, the
+ * snapshot is used right away. If the instance now describes its MDB differently (name, version or number of items),
+ * the MDB is downloaded again in the background. When it turns out to be different, it replaces the snapshot, and is
+ * {@link YamcsPlugin#replaceMissionDatabase(MissionDatabase, MissionDatabase) applied} in place of the snapshot.
+ * <p>
+ * Changes that the instance does not describe, such as an edited parameter description, are only picked up after the
+ * snapshots are deleted.
+ */
+public class MissionDatabaseLoader {
+
+    private static final Logger log = Logger.getLogger(MissionDatabaseLoader.class.getName());
+
+    private static final int SNAPSHOT_MAGIC = 0x4D444253; // "MDBS"
+    private static final int SNAPSHOT_FORMAT = 3;
+
+    static MissionDatabase load(IProgressMonitor monitor, YamcsClient client, GetServerInfoResponse serverInfo,
+            YamcsInstance instanceInfo) throws InterruptedException, ExecutionException {
+        var fingerprint = fingerprintOf(instanceInfo);
+        var snapshotFile = snapshotFileOf(serverInfo, instanceInfo);
+
+        if (snapshotFile != null && snapshotFile.exists()) {
+            monitor.subTask("Loading mission database (local snapshot)");
+            try {
+                var snapshot = readSnapshot(snapshotFile);
+                if (snapshot != null) {
+                    var missionDatabase = snapshot.missionDatabase;
+                    log.info(String.format("Loaded %d parameters and %d commands from local snapshot",
+                            missionDatabase.getParameterCount(), missionDatabase.getCommandCount()));
+                    if (fingerprint == null || !fingerprint.equals(snapshot.fingerprint)) {
+                        ExecutionService.getInstance().executeWithLowPriority(() -> revalidate(client,
+                                instanceInfo.getName(), fingerprint, snapshotFile, missionDatabase));
+                    }
+                    return missionDatabase;
+                }
+            } catch (IOException e) {
+                log.log(Level.WARNING, "Failed to read MDB snapshot " + snapshotFile, e);
+            }
+        }
+
+        var missionDatabase = download(monitor, client, instanceInfo.getName());
+        if (snapshotFile != null) {
+            ExecutionService.getInstance().executeWithLowPriority(() -> {
+                try {
+                    writeSnapshot(snapshotFile, fingerprint, missionDatabase);
+                } catch (IOException e) {
+                    log.log(Level.WARNING, "Failed to write MDB snapshot " + snapshotFile, e);
+                }
+            });
+        }
+        return missionDatabase;
+    }
+
+    /**
+     * Deletes the local snapshots of all servers and instances. The next load of each MDB downloads it in full.
+     */
+    public static void deleteSnapshots() {
+        var dir = snapshotDir();
+        var files = dir != null ? dir.listFiles() : null;
+        if (files != null) {
+            for (var file : files) {
+                if (!file.delete()) {
+                    log.warning("Failed to delete MDB snapshot " + file);
+                }
+            }
+            log.info("Deleted MDB snapshots");
+        }
+    }
+
+    /**
+     * Downloads the MDB that was loaded from a snapshot with a different fingerprint (or without one), and replaces the
+     * snapshot.
+     */
+    private static void revalidate(YamcsClient client, String instance, String fingerprint, File snapshotFile,
+            MissionDatabase snapshot) {
+        MissionDatabase missionDatabase;
+        try {
+            missionDatabase = download(new NullProgressMonitor(), client, instance);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            log.log(Level.WARNING, "Failed to verify MDB snapshot " + snapshotFile, e);
+            return;
+        }
+
+        // Also when only the fingerprint changed, so that the next load does not download again
+        try {
+            writeSnapshot(snapshotFile, fingerprint, missionDatabase);
+        } catch (IOException e) {
+            log.log(Level.WARNING, "Failed to write MDB snapshot " + snapshotFile, e);
+        }
+
+        if (missionDatabase.getParameters().equals(snapshot.getParameters())
+                && missionDatabase.getCommands().equals(snapshot.getCommands())) {
+            log.fine("MDB snapshot " + snapshotFile + " is up to date");
+        } else {
+            log.info("MDB of instance " + instance + " has changed since its local snapshot");
+            YamcsPlugin.replaceMissionDatabase(snapshot, missionDatabase);
+        }
+    }
+
+    private static MissionDatabase download(IProgressMonitor monitor, YamcsClient client, String instance)
+            throws InterruptedException, ExecutionException {
+        var missionDatabase = new MissionDatabase();
+        var mdbClient = client.createMissionDatabaseClient(instance);
+
+        // Parameters and commands are listed concurrently. They are indexed into
+        // separate structures of MissionDatabase, so no locking is needed.
+        var parameterCount = new AtomicInteger();
+        var commandCount = new AtomicInteger();
+        Runnable updateProgress = () -> monitor.subTask(String.format(
+                "Loading mission database (%d parameters, %d commands)", parameterCount.get(), commandCount.get()));
+        updateProgress.run();
+
+        log.fine("Fetching available parameters and commands");
+        var parametersFuture = fetchAll(mdbClient.listParameters(ListOptions.limit(500)), parameter -> {
+            missionDatabase.addParameter(parameter);
+            parameterCount.incrementAndGet();
+        }, updateProgress);
+        var commandsFuture = fetchAll(mdbClient.listCommands(ListOptions.limit(200)), command -> {
+            missionDatabase.addCommand(command);
+            commandCount.incrementAndGet();
+        }, updateProgress);
+        CompletableFuture.allOf(parametersFuture, commandsFuture).get();
+
+        log.info(String.format("Loaded %d parameters and %d commands", missionDatabase.getParameterCount(),
+                missionDatabase.getCommandCount()));
+        return missionDatabase;
+    }
+
+    /**
+     * Consumes all items of a paged listing. The next page is requested before the items of the current page are
+     * consumed, so that consuming overlaps with the download. Pages are consumed one after the other, off the network
+     * thread.
+     */
+    private static <T> CompletableFuture<Void> fetchAll(CompletableFuture<Page<T>> pageFuture, Consumer<T> consumer,
+            Runnable pageConsumed) {
+        return pageFuture.thenComposeAsync(page -> {
+            var nextPageFuture = page.hasNextPage() ? page.getNextPage() : null;
+            page.iterator().forEachRemaining(consumer);
+            pageConsumed.run();
+            if (nextPageFuture != null) {
+                return fetchAll(nextPageFuture, consumer, pageConsumed);
+            } else {
+                return CompletableFuture.completedFuture(null);
+            }
+        }, ExecutionService.getInstance()::executeWithNormalPriority);
+    }
+
+    /**
+     * Describes the MDB of an instance, as reported by the server. An MDB with the same fingerprint is assumed to be
+     * unchanged. Returns null if the server does not describe the MDB.
+     */
+    private static String fingerprintOf(YamcsInstance instanceInfo) {
+        if (!instanceInfo.hasMissionDatabase()) {
+            return null;
+        }
+        var mdb = instanceInfo.getMissionDatabase();
+        return String.join("|", mdb.getConfigName(), mdb.getName(), mdb.getVersion(),
+                Integer.toString(mdb.getParameterCount()), Integer.toString(mdb.getParameterTypeCount()),
+                Integer.toString(mdb.getCommandCount()));
+    }
+
+    private static File snapshotDir() {
+        try {
+            return YamcsPlugin.getDefault().getStateLocation().append("mdb").toFile();
+        } catch (IllegalStateException e) {
+            return null; // No workspace
+        }
+    }
+
+    private static File snapshotFileOf(GetServerInfoResponse serverInfo, YamcsInstance instanceInfo) {
+        var dir = snapshotDir();
+        if (dir == null) {
+            return null;
+        }
+        var name = sanitize(serverInfo.getServerId()) + "_" + sanitize(instanceInfo.getName()) + ".bin";
+        return new File(dir, name);
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static Snapshot readSnapshot(File file) throws IOException {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath()), 65536))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_FORMAT) {
+                return null;
+            }
+            var fingerprint = in.readUTF();
+            var missionDatabase = new MissionDatabase();
+            var parameterCount = in.readInt();
+            for (var i = 0; i < parameterCount; i++) {
+                var parameter = ParameterInfo.parseDelimitedFrom(in);
+                if (parameter == null) {
+                    throw new EOFException();
+                }
+                missionDatabase.addParameter(parameter);
+            }
+            var commandCount = in.readInt();
+            for (var i = 0; i < commandCount; i++) {
+                var command = CommandInfo.parseDelimitedFrom(in);
+                if (command == null) {
+                    throw new EOFException();
+                }
+                missionDatabase.addCommand(command);
+            }
+            return new Snapshot(fingerprint, missionDatabase);
+        }
+    }
+
+    private static void writeSnapshot(File file, String fingerprint, MissionDatabase missionDatabase)
+            throws IOException {
+        file.getParentFile().mkdirs();
+
+        // A unique temporary file, because another load of the same instance may be writing too
+        var tmpFile = File.createTempFile(file.getName(), ".tmp", file.getParentFile()).toPath();
+        try {
+            writeSnapshotData(tmpFile, fingerprint, missionDatabase);
+            Files.move(tmpFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+        log.fine("Wrote MDB snapshot " + file);
+    }
+
+    private static void writeSnapshotData(Path path, String fingerprint, MissionDatabase missionDatabase)
+            throws IOException {
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 65536))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_FORMAT);
+            out.writeUTF(fingerprint != null ? fingerprint : "");
+            var parameters = missionDatabase.getParameters();
+            out.writeInt(parameters.size());
+            for (var parameter : parameters) {
+                parameter.writeDelimitedTo(out);
+            }
+            var commands = missionDatabase.getCommands();
+            out.writeInt(commands.size());
+            for (var command : commands) {
+                command.writeDelimitedTo(out);
+            }
+        }
+    }
+
+    private static class Snapshot {
+
+        private final String fingerprint;
+        private final MissionDatabase missionDatabase;
+
+        Snapshot(String fingerprint, MissionDatabase missionDatabase) {
+            this.fingerprint = fingerprint;
+            this.missionDatabase = missionDatabase;
+        }
+    }
+}
@@ -22,7 +22,6 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 import org.yamcs.client.ClientException;
 import org.yamcs.client.YamcsClient;
-import org.yamcs.client.mdb.MissionDatabaseClient.ListOptions;
 import org.yamcs.protobuf.GetServerInfoResponse;
 import org.yamcs.protobuf.UserInfo;
 import org.yamcs.protobuf.YamcsInstance;
@@ -68,7 +67,8 @@ public class YamcsConnector implements IRunnableWithProgress {
                     log.warning("Instance '" + holder.instance + "' does not have any active processors");
                 }
 
-                holder.missionDatabase = loadMissionDatabase(monitor, holder.yamcsClient, holder.instance);
+                holder.missionDatabase = loadMissionDatabase(monitor, holder.yamcsClient, holder.serverInfo,
+                        instanceInfo);
             }
 
             YamcsPlugin.updateEntities(holder);
@@ -148,31 +148,12 @@ public class YamcsConnector implements IRunnableWithProgress {
         }
     }
 
-    private MissionDatabase loadMissionDatabase(IProgressMonitor monitor, YamcsClient client, String instance)
+    private MissionDatabase loadMissionDatabase(IProgressMonitor monitor, YamcsClient client,
+            GetServerInfoResponse serverInfo, YamcsInstance instanceInfo)
             throws InterruptedException, BootstrapException {
         monitor.subTask("Loading mission database");
-        var missionDatabase = new MissionDatabase();
-
-        var mdbClient = client.createMissionDatabaseClient(instance);
         try {
-            log.fine("Fetching available parameters");
-            var page = mdbClient.listParameters(ListOptions.limit(500)).get();
-            page.iterator().forEachRemaining(missionDatabase::addParameter);
-            while (page.hasNextPage()) {
-                page = page.getNextPage().get();
-                page.iterator().forEachRemaining(missionDatabase::addParameter);
-            }
-
-            log.fine("Fetching available commands");
-            var commandPage = mdbClient.listCommands(ListOptions.limit(200)).get();
-            commandPage.iterator().forEachRemaining(missionDatabase::addCommand);
-            while (commandPage.hasNextPage()) {
-                commandPage = commandPage.getNextPage().get();
-                commandPage.iterator().forEachRemaining(missionDatabase::addCommand);
-            }
-            log.info(String.format("Loaded %d parameters and %d commands", missionDatabase.getParameterCount(),
-                    missionDatabase.getCommandCount()));
-            return missionDatabase;
+            return MissionDatabaseLoader.load(monitor, client, serverInfo, instanceInfo);
         } catch (ExecutionException e) {
             throw new BootstrapException("Failed to load mission database", e);
         }
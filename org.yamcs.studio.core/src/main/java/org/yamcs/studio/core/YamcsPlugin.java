@@ -14,12 +14,15 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.GregorianCalendar;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.WeakHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Executors;
@@ -109,6 +112,10 @@ public class YamcsPlugin extends AbstractUIPlugin {
 
     private Set<YamcsAware> listeners = new CopyOnWriteArraySet<>();
 
+    // MDBs loaded from a local snapshot, mapped to the version that was downloaded since
+    private Map<MissionDatabase, MissionDatabase> replacedMissionDatabases = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
     private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
 
     private List<PluginService> pluginServices = new CopyOnWriteArrayList<>();
@@ -398,7 +405,7 @@ public class YamcsPlugin extends AbstractUIPlugin {
         plugin.yamcsClient = holder.yamcsClient;
         plugin.serverInfo = holder.serverInfo;
         plugin.userInfo = holder.userInfo;
-        plugin.missionDatabase = holder.missionDatabase;
+        plugin.missionDatabase = latestVersionOf(holder.missionDatabase);
         plugin.instance = holder.instance;
         plugin.processor = holder.processor;
 
@@ -418,6 +425,34 @@ public class YamcsPlugin extends AbstractUIPlugin {
         plugin.yamcsClient.addConnectionListener(DISCONNECT_NOTIFIER);
     }
 
+    /**
+     * Replaces an MDB that was loaded from a local snapshot with the version that was downloaded since. If the snapshot
+     * is in use, the entities are updated again, so that listeners pick up the new MDB.
+     */
+    static void replaceMissionDatabase(MissionDatabase snapshot, MissionDatabase missionDatabase) {
+        // Also applies to entities that are still being set up with the snapshot
+        plugin.replacedMissionDatabases.put(snapshot, missionDatabase);
+
+        if (plugin.missionDatabase == snapshot) {
+            var holder = new RemoteEntityHolder();
+            holder.yamcsClient = plugin.yamcsClient;
+            holder.serverInfo = plugin.serverInfo;
+            holder.userInfo = plugin.userInfo;
+            holder.missionDatabase = missionDatabase;
+            holder.instance = plugin.instance;
+            holder.processor = plugin.processor;
+            if (holder.yamcsClient != null) { // Not disconnected in the meantime
+                log.info("Applying updated mission database of instance " + holder.instance);
+                updateEntities(holder);
+            }
+        }
+    }
+
+    private static MissionDatabase latestVersionOf(MissionDatabase missionDatabase) {
+        var replacement = missionDatabase != null ? plugin.replacedMissionDatabases.get(missionDatabase) : null;
+        return replacement != null ? latestVersionOf(replacement) : missionDatabase;
+    }
+
     private static void setupGlobalTimeSubscription() {
         if (plugin.instance != null) {
             plugin.timeSubscription = getYamcsClient().createTimeSubscription();
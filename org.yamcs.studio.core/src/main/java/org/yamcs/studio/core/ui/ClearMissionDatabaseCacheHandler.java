@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.core.ui;
+
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.ui.handlers.HandlerUtil;
+import org.yamcs.studio.core.MissionDatabaseLoader;
+
+/**
+ * Deletes the local snapshots of mission databases, so that they are downloaded in full on next connect.
+ */
+public class ClearMissionDatabaseCacheHandler extends AbstractHandler {
+
+    @Override
+    public Object execute(ExecutionEvent event) throws ExecutionException {
+        var shell = HandlerUtil.getActiveShell(event);
+        MissionDatabaseLoader.deleteSnapshots();
+        MessageDialog.openInformation(shell, "Clear Mission Database Cache",
+                "The mission database will be downloaded again on next connect.");
+        return null;
+    }
+}
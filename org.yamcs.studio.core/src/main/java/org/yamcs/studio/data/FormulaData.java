@@ -9,21 +9,30 @@
  *******************************************************************************/
 package org.yamcs.studio.data;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Supplier;
 
 import org.yamcs.studio.data.formula.CompiledFormula;
 import org.yamcs.studio.data.vtype.VType;
 
-public class FormulaData implements IPVListener {
+public class FormulaData implements IPVBatchListener {
 
     private CompiledFormula formula;
 
+    // Last evaluated value, until an input changes
+    private final Object valueLock = new Object();
+    private boolean valueValid;
+    private VType value;
+
     // PVs that this formula depends on
     private Set<IPV> inputs = new HashSet<>();
 
     // PVs that depnd on this formula
-    private Set<IPV> pvs = new HashSet<>();
+    private Set<IPV> pvs = new CopyOnWriteArraySet<>();
 
     public FormulaData(String formulaString) {
         formula = new CompiledFormula(formulaString);
@@ -48,11 +57,36 @@ public class FormulaData implements IPVListener {
     }
 
     public VType getValue() {
-        return (VType) formula.execute();
+        synchronized (valueLock) {
+            if (!valueValid) {
+                value = (VType) formula.execute();
+                valueValid = true;
+            }
+            return value;
+        }
+    }
+
+    private boolean updateInput(IPV input) {
+        if (formula.updateInput(input.getName(), input::getValue)) {
+            invalidateValue();
+            return true;
+        }
+        return false;
+    }
+
+    private void invalidateValue() {
+        synchronized (valueLock) {
+            valueValid = false;
+            value = null;
+        }
     }
 
-    void register(IPV pv) {
+    synchronized void register(IPV pv) {
         var startInputPVs = pvs.isEmpty();
+        if (startInputPVs) {
+            formula.attach();
+            invalidateValue();
+        }
 
         pvs.add(pv);
         if (isConnected()) {
@@ -68,7 +102,7 @@ public class FormulaData implements IPVListener {
         }
     }
 
-    void unregister(IPV pv) {
+    synchronized void unregister(IPV pv) {
         pvs.remove(pv);
 
         // Cleanup
@@ -77,6 +111,8 @@ public class FormulaData implements IPVListener {
                 input.removeListener(this);
                 input.stop();
             }
+            formula.detach();
+            invalidateValue();
             pv.notifyConnectionChange();
             pv.notifyValueChange();
         }
@@ -93,8 +129,23 @@ public class FormulaData implements IPVListener {
 
     @Override
     public void valueChanged(IPV input) {
-        formula.updateInput(input.getName(), input.getValue());
-        pvs.forEach(IPV::notifyValueChange);
+        if (updateInput(input)) {
+            pvs.forEach(IPV::notifyValueChange);
+        }
+    }
+
+    @Override
+    public void valuesChanged(Collection<IPV> changedInputs) {
+        // Apply all inputs at once, so that the formula's PVs are notified only once,
+        // and stateful functions see a single change
+        var values = new HashMap<String, Supplier<VType>>();
+        for (var input : changedInputs) {
+            values.put(input.getName(), input::getValue);
+        }
+        if (formula.updateInputs(values)) {
+            invalidateValue();
+            IPV.notifyValueChanges(pvs);
+        }
     }
 
     @Override
@@ -9,15 +9,15 @@
  *******************************************************************************/
 package org.yamcs.studio.data;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.yamcs.studio.data.vtype.VType;
 
 public class FormulaDatasource implements Datasource {
 
-    private Map<String, FormulaData> name2data = new HashMap<>();
-    private Map<IPV, FormulaData> pv2data = new HashMap<>();
+    private Map<String, FormulaData> name2data = new ConcurrentHashMap<>();
+    private Map<IPV, FormulaData> pv2data = new ConcurrentHashMap<>();
 
     @Override
     public boolean supportsPVName(String pvName) {
@@ -9,6 +9,9 @@
  *******************************************************************************/
 package org.yamcs.studio.data;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -21,6 +24,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.csstudio.java.thread.ExecutionService;
 import org.yamcs.studio.data.vtype.VType;
 
 public class IPV {
@@ -32,23 +36,30 @@ public class IPV {
     private final String name;
     private final Executor notificationThread;
 
+    // Minimum time between two value notifications, or 0 to notify every update
+    private final long minUpdatePeriodNanos;
+    private AtomicBoolean valueChangePending = new AtomicBoolean(false);
+    private volatile long lastValueChange;
+
     private AtomicBoolean started = new AtomicBoolean(false); // start() has been called (fully executed or not)
     private AtomicBoolean starting = new AtomicBoolean(false); // PV is during start
     private CompletableFuture<Void> startFinished = new CompletableFuture<>(); // start() has been called, as well
                                                                                // as onStarted
 
     // Datasources can use this to force a PV as disconnected
-    private boolean invalid = false;
+    private volatile boolean invalid = false;
 
     private Datasource datasource;
 
     private List<IPVListener> listeners = new CopyOnWriteArrayList<>();
 
-    IPV(String name, Datasource datasource, Executor notificationThread) {
+    IPV(String name, Datasource datasource, Executor notificationThread, long minUpdatePeriod) {
         id = SEQ.getAndIncrement();
         this.name = Objects.requireNonNull(name);
         this.datasource = Objects.requireNonNull(datasource);
         this.notificationThread = Objects.requireNonNull(notificationThread);
+        minUpdatePeriodNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, minUpdatePeriod));
+        lastValueChange = System.nanoTime() - minUpdatePeriodNanos; // First value without delay
         log.fine(String.format("Creating PV %s", this));
     }
 
@@ -99,17 +110,115 @@ public class IPV {
 
     public void notifyConnectionChange() {
         invalid = false; // Reset state
-        listeners.forEach(l -> l.connectionChanged(this));
+        deliver(() -> {
+            // A value that arrived before the connection change must not be delivered after it
+            flushValueChange();
+            listeners.forEach(l -> l.connectionChanged(this));
+        });
     }
 
+    /**
+     * Notifies listeners of a value change, on the notification thread. If this PV has a minimum update period,
+     * notifications are coalesced: at most one is pending at any time, and it is delivered at the earliest allowed
+     * moment, where listeners will see the latest value.
+     * <p>
+     * Connection and write permission changes are delivered on the notification thread too, after any pending value
+     * change, so that listeners see all events in the order in which they occurred.
+     */
     public void notifyValueChange() {
+        if (minUpdatePeriodNanos == 0) {
+            notificationThread.execute(this::fireValueChange);
+        } else if (valueChangePending.compareAndSet(false, true)) {
+            var delay = lastValueChange + minUpdatePeriodNanos - System.nanoTime();
+            if (delay <= 0) {
+                notificationThread.execute(this::flushValueChange);
+            } else {
+                var timer = ExecutionService.getInstance().getScheduledExecutorService();
+                timer.schedule(() -> notificationThread.execute(this::flushValueChange), delay,
+                        TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Notifies listeners of a value change of multiple PVs at once. An {@link IPVBatchListener} is called only once,
+     * with all of its PVs that have changed, on the notification thread of the first of these PVs. Other listeners are
+     * notified as with {@link #notifyValueChange()}.
+     * <p>
+     * PVs with a minimum update period are excluded from batching, their notifications are coalesced individually.
+     */
+    public static void notifyValueChanges(Collection<IPV> pvs) {
+        var batches = new LinkedHashMap<IPVBatchListener, List<IPV>>();
+        for (var pv : pvs) {
+            if (pv.minUpdatePeriodNanos != 0) {
+                pv.notifyValueChange();
+                continue;
+            }
+            var single = false;
+            for (var listener : pv.listeners) {
+                if (listener instanceof IPVBatchListener) {
+                    batches.computeIfAbsent((IPVBatchListener) listener, x -> new ArrayList<>()).add(pv);
+                } else {
+                    single = true;
+                }
+            }
+            if (single) {
+                pv.notificationThread.execute(pv::fireSingleValueChange);
+            }
+        }
+        batches.forEach((listener, changed) -> {
+            changed.get(0).notificationThread.execute(() -> {
+                changed.removeIf(pv -> pv.getValue() == null);
+                if (!changed.isEmpty()) {
+                    listener.valuesChanged(changed);
+                }
+            });
+        });
+    }
+
+    /**
+     * Delivers the pending value change, if any.
+     */
+    private void flushValueChange() {
+        // Before reading the value, so that no update gets lost
+        if (valueChangePending.compareAndSet(true, false)) {
+            lastValueChange = System.nanoTime();
+            fireValueChange();
+        }
+    }
+
+    private void fireValueChange() {
         if (getValue() != null) {
             listeners.forEach(l -> l.valueChanged(this));
         }
     }
 
+    /**
+     * Notifies the listeners that are not notified through a batch.
+     */
+    private void fireSingleValueChange() {
+        if (getValue() != null) {
+            for (var listener : listeners) {
+                if (!(listener instanceof IPVBatchListener)) {
+                    listener.valueChanged(this);
+                }
+            }
+        }
+    }
+
     public void notifyWritePermissionChange() {
-        listeners.forEach(l -> l.writePermissionChanged(this));
+        deliver(() -> {
+            flushValueChange();
+            listeners.forEach(l -> l.writePermissionChanged(this));
+        });
+    }
+
+    /**
+     * Queues a notification of other listener events than value changes on the notification thread, to keep them
+     * ordered with the value notifications.
+     */
+    private void deliver(Runnable notification) {
+        notificationThread.execute(notification);
     }
 
     /**
@@ -145,7 +254,10 @@ public class IPV {
 
     public void setInvalid() {
         invalid = true;
-        listeners.forEach(l -> l.connectionChanged(this));
+        deliver(() -> {
+            flushValueChange();
+            listeners.forEach(l -> l.connectionChanged(this));
+        });
     }
 
     /**
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data;
+
+import java.util.Collection;
+
+/**
+ * A PV listener that can handle multiple value changes at once. When a datasource receives updates for several PVs in
+ * one go, a listener that is registered on more than one of these PVs is called only once.
+ * <p>
+ * Single updates are still delivered through {@link #valueChanged(IPV)}.
+ */
+public interface IPVBatchListener extends IPVListener {
+
+    /**
+     * Will be called when the value of one or more PVs has changed as part of the same update.
+     *
+     * @param pvs
+     *            the pvs whose value has changed, in order of update. Only contains pvs that this listener is
+     *            registered on.
+     */
+    default void valuesChanged(Collection<IPV> pvs) {
+        pvs.forEach(this::valueChanged);
+    }
+}
@@ -12,9 +12,9 @@ package org.yamcs.studio.data;
 import static org.yamcs.studio.data.vtype.ValueFactory.alarmNone;
 import static org.yamcs.studio.data.vtype.ValueFactory.timeNow;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -42,7 +42,7 @@ public class LocalData {
     // The pure name without initializers
     private String name;
 
-    private Set<IPV> pvs = new HashSet<>();
+    private Set<IPV> pvs = new CopyOnWriteArraySet<>();
 
     private VType value;
 
@@ -184,7 +184,7 @@ public class LocalData {
         type = newType;
     }
 
-    void register(IPV pv) {
+    synchronized void register(IPV pv) {
         pvs.add(pv);
         pv.notifyConnectionChange();
         if (value != null) {
@@ -193,7 +193,7 @@ public class LocalData {
         pv.notifyWritePermissionChange();
     }
 
-    void unregister(IPV pv) {
+    synchronized void unregister(IPV pv) {
         pvs.remove(pv);
         if (pvs.isEmpty()) {
             initialArguments = null;
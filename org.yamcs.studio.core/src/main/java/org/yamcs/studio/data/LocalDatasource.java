@@ -10,9 +10,9 @@
 package org.yamcs.studio.data;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.yamcs.studio.data.vtype.VType;
 
@@ -21,10 +21,10 @@ import org.yamcs.studio.data.vtype.VType;
  */
 public class LocalDatasource implements Datasource {
 
-    private Map<IPV, LocalData> pv2data = new HashMap<>();
+    private Map<IPV, LocalData> pv2data = new ConcurrentHashMap<>();
 
     // Keep track of local names, to ensure they use same initializers
-    private Map<String, LocalData> name2data = new HashMap<>();
+    private Map<String, LocalData> name2data = new ConcurrentHashMap<>();
 
     @Override
     public boolean supportsPVName(String pvName) {
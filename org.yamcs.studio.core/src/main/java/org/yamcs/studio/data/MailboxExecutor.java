@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An executor that hands out a private mailbox to each PV. Tasks of one mailbox run in submission order, but are not
+ * bound to any particular thread: a mailbox with pending work borrows a thread only for as long as it takes to drain
+ * it. A listener that blocks therefore only delays events of its own PV.
+ * <p>
+ * Mailboxes are run on virtual threads when the Java runtime supports them, and on an unbounded pool of daemon threads
+ * otherwise.
+ * <p>
+ * When passed as notification thread to {@link PVFactory}, each PV gets its own mailbox.
+ */
+public class MailboxExecutor extends AbstractExecutorService {
+
+    private static final Logger log = Logger.getLogger(MailboxExecutor.class.getName());
+
+    private final ExecutorService carrier;
+
+    /**
+     * @param name
+     *            prefix for the names of platform threads, if virtual threads are not available.
+     */
+    public MailboxExecutor(String name) {
+        carrier = createCarrier(name);
+    }
+
+    private static ExecutorService createCarrier(String name) {
+        try {
+            // Available from Java 21 onwards
+            var method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            var threadNumber = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                var t = new Thread(r, name + "-" + threadNumber.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    /**
+     * Returns a new mailbox. Tasks executed on the returned executor run one at a time, in order.
+     */
+    public Executor newMailbox() {
+        return new Mailbox();
+    }
+
+    /**
+     * Executes a task that is not bound to a mailbox.
+     */
+    @Override
+    public void execute(Runnable command) {
+        carrier.execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+        carrier.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return carrier.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return carrier.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return carrier.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return carrier.awaitTermination(timeout, unit);
+    }
+
+    private class Mailbox implements Executor {
+
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+                carrier.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    try {
+                        task.run();
+                    } catch (Throwable t) {
+                        log.log(Level.SEVERE, "Error while running PV task", t);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+                scheduleDrain(); // In case a task was added in the meantime
+            }
+        }
+    }
+}
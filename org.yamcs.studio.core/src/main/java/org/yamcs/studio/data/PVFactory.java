@@ -14,11 +14,29 @@ import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import org.eclipse.core.runtime.Platform;
+import org.yamcs.studio.core.YamcsPlugin;
 
 public class PVFactory {
 
+    private static final Logger log = Logger.getLogger(PVFactory.class.getName());
+
     /**
-     * The default background thread for PV change event notification. It will only be created on its first use.
+     * Preference that determines how PV listeners are notified by the default notification executors. One of:
+     * <ul>
+     * <li><code>single</code>: all PVs share a single thread.
+     * <li><code>partitioned</code>: each PV is pinned to one of a fixed pool of threads (one per processor).
+     * <li><code>mailbox</code>: each PV has its own mailbox, run on virtual threads when available. Best suited when
+     * listeners may block.
+     * </ul>
+     * Unknown values fall back to <code>partitioned</code>. Changes only apply after a restart.
+     */
+    public static final String PREF_NOTIFICATION_MODE = "pvNotificationMode";
+
+    /**
+     * The default background threads for PV change event notification. They will only be created on first use.
      */
     public static ExecutorService SIMPLE_PV_THREAD = null;
 
@@ -39,11 +57,8 @@ public class PVFactory {
         return INSTANCE;
     }
 
-    public synchronized IPV createPV(String name) {
-        if (SIMPLE_PV_THREAD == null) {
-            SIMPLE_PV_THREAD = Executors.newSingleThreadExecutor();
-        }
-        return createPV(name, false, SIMPLE_PV_THREAD, null);
+    public IPV createPV(String name) {
+        return createPV(name, false, getDefaultPVNotificationThread(), null);
     }
 
     /**
@@ -60,6 +75,29 @@ public class PVFactory {
      *            listener or pv write listener will be notified on read or write exceptions respectively.
      */
     public IPV createPV(String name, boolean readOnly, Executor notificationThread, ExceptionHandler exceptionHandler) {
+        return createPV(name, readOnly, notificationThread, exceptionHandler, 0);
+    }
+
+    /**
+     * Create a PV whose value notifications are limited to a maximum rate. Updates that arrive faster are coalesced,
+     * listeners are only notified of the latest value.
+     *
+     * @param name
+     *            name of the PV. Must not be null.
+     * @param readOnly
+     *            true if the client doesn't need to write to the PV.
+     * @param notificationThread
+     *            the thread on which the read and write listener will be notified. Must not be null. If this is a
+     *            {@link PartitionedExecutor}, the PV is pinned to one of its partitions. If this is a
+     *            {@link MailboxExecutor}, the PV gets its own mailbox.
+     * @param exceptionHandler
+     *            the handler to handle all exceptions happened in pv connection layer. If this is null, pv read
+     *            listener or pv write listener will be notified on read or write exceptions respectively.
+     * @param minUpdatePeriod
+     *            minimum time in milliseconds between two value notifications. Use 0 to be notified of every update.
+     */
+    public IPV createPV(String name, boolean readOnly, Executor notificationThread, ExceptionHandler exceptionHandler,
+            long minUpdatePeriod) {
         Datasource datasource = null;
         for (var candidate : datasources) {
             if (candidate.supportsPVName(name)) {
@@ -67,13 +105,42 @@ public class PVFactory {
                 break;
             }
         }
-        return new IPV(name, datasource, notificationThread);
+        if (notificationThread instanceof PartitionedExecutor) {
+            notificationThread = ((PartitionedExecutor) notificationThread).partition(name);
+        } else if (notificationThread instanceof MailboxExecutor) {
+            notificationThread = ((MailboxExecutor) notificationThread).newMailbox();
+        }
+        return new IPV(name, datasource, notificationThread, minUpdatePeriod);
     }
 
     public static synchronized ExecutorService getDefaultPVNotificationThread() {
         if (SIMPLE_PV_THREAD == null) {
-            SIMPLE_PV_THREAD = Executors.newSingleThreadExecutor();
+            SIMPLE_PV_THREAD = createNotificationExecutor("pv-notification");
         }
         return SIMPLE_PV_THREAD;
     }
+
+    /**
+     * Creates an executor for PV change event notification, according to the {@link #PREF_NOTIFICATION_MODE}
+     * preference.
+     *
+     * @param name
+     *            prefix for the names of the created threads
+     */
+    public static ExecutorService createNotificationExecutor(String name) {
+        var mode = Platform.getPreferencesService().getString(YamcsPlugin.PLUGIN_ID, PREF_NOTIFICATION_MODE,
+                "partitioned", null);
+        switch (mode.trim()) {
+        case "single":
+            return Executors.newSingleThreadExecutor();
+        case "mailbox":
+            return new MailboxExecutor(name);
+        case "partitioned":
+            return new PartitionedExecutor(name, Runtime.getRuntime().availableProcessors());
+        default:
+            // Called from static initializers, so this must not fail
+            log.warning(String.format("Unexpected PV notification mode '%s', using 'partitioned'", mode));
+            return new PartitionedExecutor(name, Runtime.getRuntime().availableProcessors());
+        }
+    }
 }
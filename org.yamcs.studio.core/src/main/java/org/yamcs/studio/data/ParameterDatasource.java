@@ -39,7 +39,7 @@ public class ParameterDatasource implements Datasource {
 
     @Override
     public boolean isConnected(IPV pv) {
-        return yamcsSubscription.isSubscriptionAvailable();
+        return yamcsSubscription.isSubscriptionAvailable(pv.getName());
     }
 
     @Override
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An executor that spreads work over a fixed number of single-threaded workers. All tasks submitted through the same
+ * {@link #partition(Object)} run in submission order, while tasks of different partitions may run in parallel.
+ * <p>
+ * When passed as notification thread to {@link PVFactory}, each PV is pinned to the partition of its name.
+ */
+public class PartitionedExecutor extends AbstractExecutorService {
+
+    private final ExecutorService[] workers;
+
+    /**
+     * @param name
+     *            prefix for the names of the worker threads
+     * @param nThreads
+     *            number of worker threads
+     */
+    public PartitionedExecutor(String name, int nThreads) {
+        workers = new ExecutorService[Math.max(1, nThreads)];
+        for (var i = 0; i < workers.length; i++) {
+            var threadName = name + "-" + i;
+            workers[i] = Executors.newSingleThreadExecutor(r -> new Thread(r, threadName));
+        }
+    }
+
+    /**
+     * Returns the single-threaded executor that is responsible for the given key.
+     */
+    public Executor partition(Object key) {
+        return workers[Math.floorMod(key.hashCode(), workers.length)];
+    }
+
+    /**
+     * Executes a task that is not bound to a key. Such tasks all run on the first worker.
+     */
+    @Override
+    public void execute(Runnable command) {
+        workers[0].execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+        for (var worker : workers) {
+            worker.shutdown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        var pending = new ArrayList<Runnable>();
+        for (var worker : workers) {
+            pending.addAll(worker.shutdownNow());
+        }
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        for (var worker : workers) {
+            if (!worker.isShutdown()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        for (var worker : workers) {
+            if (!worker.isTerminated()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        var deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (var worker : workers) {
+            var remaining = deadline - System.nanoTime();
+            if (!worker.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -10,8 +10,8 @@
 package org.yamcs.studio.data;
 
 import java.time.Instant;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -27,7 +27,7 @@ public class SimData {
     private static final Logger log = Logger.getLogger(SimData.class.getName());
 
     private SimFunction<?> function;
-    private Set<IPV> pvs = new HashSet<>();
+    private Set<IPV> pvs = new CopyOnWriteArraySet<>();
     private VType value;
 
     private final Runnable task = () -> {
@@ -68,7 +68,7 @@ public class SimData {
         return value;
     }
 
-    void register(IPV pv) {
+    synchronized void register(IPV pv) {
         pvs.add(pv);
         if (function != null && taskFuture == null) {
             function.lastTime = Instant.now();
@@ -81,7 +81,7 @@ public class SimData {
         }
     }
 
-    void unregister(IPV pv) { // Note that we don't reset the value, it can stay around for a new connect
+    synchronized void unregister(IPV pv) { // Note that we don't reset the value, it can stay around for a new connect
         pvs.remove(pv);
 
         // Clean up
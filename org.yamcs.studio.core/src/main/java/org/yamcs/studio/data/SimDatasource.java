@@ -9,8 +9,8 @@
  *******************************************************************************/
 package org.yamcs.studio.data;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -24,8 +24,8 @@ public class SimDatasource implements Datasource {
     private static final String SCHEME = "sim://";
     private static ScheduledExecutorService exec = Executors.newSingleThreadScheduledExecutor();
 
-    private Map<String, SimData> name2data = new HashMap<>();
-    private Map<IPV, SimData> pv2data = new HashMap<>();
+    private Map<String, SimData> name2data = new ConcurrentHashMap<>();
+    private Map<IPV, SimData> pv2data = new ConcurrentHashMap<>();
 
     @Override
     public boolean supportsPVName(String pvName) {
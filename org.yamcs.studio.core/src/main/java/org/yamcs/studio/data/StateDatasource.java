@@ -13,9 +13,9 @@ import static org.yamcs.studio.data.vtype.ValueFactory.alarmNone;
 import static org.yamcs.studio.data.vtype.ValueFactory.newVString;
 import static org.yamcs.studio.data.vtype.ValueFactory.timeNow;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -31,8 +31,8 @@ public class StateDatasource implements Datasource {
      */
     private static ScheduledExecutorService exec = Executors.newSingleThreadScheduledExecutor();
 
-    private Map<String, StateData> name2data = new HashMap<>();
-    private Map<IPV, StateData> pv2data = new HashMap<>();
+    private Map<String, StateData> name2data = new ConcurrentHashMap<>();
+    private Map<IPV, StateData> pv2data = new ConcurrentHashMap<>();
 
     @Override
     public boolean supportsPVName(String pvName) {
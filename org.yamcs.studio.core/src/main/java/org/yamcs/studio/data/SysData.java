@@ -9,8 +9,8 @@
  *******************************************************************************/
 package org.yamcs.studio.data;
 
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -47,7 +47,7 @@ public abstract class SysData {
         }
     };
 
-    private Set<IPV> pvs = new HashSet<>();
+    private Set<IPV> pvs = new CopyOnWriteArraySet<>();
     private VType value;
 
     private ScheduledExecutorService executor;
@@ -75,7 +75,7 @@ public abstract class SysData {
 
     abstract VType createValue();
 
-    void register(IPV pv) {
+    synchronized void register(IPV pv) {
         pvs.add(pv);
         if (taskFuture == null) {
             taskFuture = executor.scheduleWithFixedDelay(task, 0, 1, TimeUnit.SECONDS);
@@ -84,7 +84,7 @@ public abstract class SysData {
         pv.notifyValueChange();
     }
 
-    void unregister(IPV pv) { // Note that we don't reset the value, it can stay around for a new connect
+    synchronized void unregister(IPV pv) { // Note that we don't reset the value, it can stay around for a new connect
         pvs.remove(pv);
         if (pvs.isEmpty()) {
             taskFuture.cancel(true);
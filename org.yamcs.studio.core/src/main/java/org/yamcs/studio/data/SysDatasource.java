@@ -22,9 +22,9 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -41,8 +41,8 @@ public class SysDatasource implements Datasource {
      */
     private static ScheduledExecutorService exec = Executors.newSingleThreadScheduledExecutor();
 
-    private Map<String, SysData> name2data = new HashMap<>();
-    private Map<IPV, SysData> pv2data = new HashMap<>();
+    private Map<String, SysData> name2data = new ConcurrentHashMap<>();
+    private Map<IPV, SysData> pv2data = new ConcurrentHashMap<>();
 
     @Override
     public boolean supportsPVName(String pvName) {
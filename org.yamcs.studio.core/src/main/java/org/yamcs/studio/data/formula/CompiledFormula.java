@@ -9,70 +9,107 @@
  *******************************************************************************/
 package org.yamcs.studio.data.formula;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
-import org.yamcs.studio.data.vtype.IVDouble;
-import org.yamcs.studio.data.vtype.IVInt;
-import org.yamcs.studio.data.vtype.IVString;
 import org.yamcs.studio.data.vtype.VType;
 
+/**
+ * A formula that is compiled into the shared {@link FormulaGraph}. Sub-expressions that also appear in other formulas
+ * are evaluated only once.
+ * <p>
+ * The formula is only part of the graph between {@link #attach()} and {@link #detach()}.
+ */
 public class CompiledFormula {
 
     private FormulaAst rootNode;
+    private FormulaGraph graph = FormulaGraph.getDefault();
+    private FormulaGraph.Node compiledRoot; // While attached
+
+    // Input values as last seen by this formula. The graph may already have been
+    // updated through another formula that shares the same input.
     private Map<String, VType> inputValues = new HashMap<>();
-    private FormulaRegistry registry = FormulaRegistry.getDefault();
 
     public CompiledFormula(String formulaString) {
         rootNode = FormulaAst.formula(formulaString);
+        for (var channelName : rootNode.listChannelNames()) {
+            inputValues.put(channelName, null);
+        }
     }
 
-    public void updateInput(String pvName, VType value) {
-        inputValues.put(pvName, value);
+    /**
+     * Adds this formula to the graph.
+     */
+    public synchronized void attach() {
+        if (compiledRoot == null) {
+            compiledRoot = graph.acquire(rootNode, this);
+        }
     }
 
-    public List<String> getDependencies() {
-        return rootNode.listChannelNames();
+    /**
+     * Removes this formula from the graph. Nodes that are not shared with other formulas are discarded, together with
+     * the state of its stateful functions.
+     */
+    public synchronized void detach() {
+        if (compiledRoot != null) {
+            graph.release(compiledRoot);
+            compiledRoot = null;
+            inputValues.replaceAll((pvName, value) -> null);
+        }
     }
 
-    public Object execute() {
-        return executeExpression(rootNode);
+    /**
+     * Sets the value of an input.
+     *
+     * @param value
+     *            supplies the current value of the input. It is read while the graph is locked, so that concurrent
+     *            updates through formulas that share the input are applied in order.
+     * @return true if the input was changed
+     */
+    public boolean updateInput(String pvName, Supplier<VType> value) {
+        return updateInputs(Map.of(pvName, value));
     }
 
-    private Object executeExpression(FormulaAst node) {
-        switch (node.getType()) {
-        case OP:
-            var func = (String) node.getValue();
-            return executeOP(func, node.getChildren());
-        case INTEGER:
-            return new IVInt((Integer) node.getValue());
-        case FLOATING_POINT:
-            return new IVDouble((Double) node.getValue());
-        case STRING:
-            return new IVString((String) node.getValue());
-        case CHANNEL:
-            var channelName = (String) node.getValue();
-            return inputValues.get(channelName);
-        case ID:
-            var id = (String) node.getValue();
-            return registry.findNamedConstant(id);
-        default:
-            throw new IllegalStateException("Unexpected node type " + node.getType());
+    /**
+     * Sets the values of multiple inputs at once. Stateful functions see this as a single change.
+     *
+     * @param values
+     *            supplies the current value of each input, see {@link #updateInput(String, Supplier)}
+     * @return true if any of the inputs was changed
+     */
+    public synchronized boolean updateInputs(Map<String, Supplier<VType>> values) {
+        if (compiledRoot == null) {
+            return false;
+        }
+        var ownValues = new HashMap<String, Supplier<VType>>();
+        values.forEach((pvName, value) -> {
+            if (inputValues.containsKey(pvName)) {
+                ownValues.put(pvName, value);
+            }
+        });
+        if (ownValues.isEmpty()) {
+            return false;
         }
+        var changed = false;
+        for (var entry : graph.setInputs(ownValues).entrySet()) {
+            var current = entry.getValue();
+            changed |= inputValues.put(entry.getKey(), current) != current;
+        }
+        return changed;
     }
 
-    private Object executeOP(String func, List<FormulaAst> argNodes) {
-        var cardinality = argNodes.size();
-        var functions = registry.findFunctions(func, cardinality);
-
-        var argumentValues = new ArrayList<>(cardinality);
-        for (var argNode : argNodes) {
-            argumentValues.add(executeExpression(argNode));
-        }
+    public List<String> getDependencies() {
+        return rootNode.listChannelNames();
+    }
 
-        var func2 = FormulaFunctions.findFirstMatch(argumentValues, functions);
-        return func2.calculate(argumentValues);
+    /**
+     * Evaluates the formula.
+     *
+     * @return the result, or null when the formula is not attached
+     */
+    public synchronized Object execute() {
+        return compiledRoot != null ? graph.evaluate(compiledRoot) : null;
     }
 }
@@ -0,0 +1,408 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.formula;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.yamcs.studio.data.vtype.IVDouble;
+import org.yamcs.studio.data.vtype.IVInt;
+import org.yamcs.studio.data.vtype.IVString;
+import org.yamcs.studio.data.vtype.VType;
+
+/**
+ * Process-wide graph of compiled formula expressions. Structurally equal sub-expressions share a single node, so that
+ * an expression used by many formulas is evaluated only once per input update.
+ * <p>
+ * Each node caches its value. Setting an input invalidates all nodes that depend on it, which are then re-evaluated on
+ * next access. Nodes that use a {@link StatefulFormulaFunction} are re-evaluated right away instead, so that they see
+ * every input change.
+ * <p>
+ * Nodes that use a {@link StatefulFormulaFunction}, and the nodes that depend on those, are not shared between
+ * compiled formulas. Each {@link CompiledFormula} keeps its own state, which starts over from the current input values
+ * when the formula is added to the graph again.
+ * <p>
+ * Nodes are reference counted: each formula holds on to its root node, and each operation to its arguments. A node is
+ * removed from the graph when it is no longer used.
+ */
+public class FormulaGraph {
+
+    private static final FormulaGraph DEFAULT = new FormulaGraph();
+
+    private final FormulaRegistry registry = FormulaRegistry.getDefault();
+    private final Map<NodeKey, Node> nodes = new HashMap<>();
+    private final Map<String, Input> inputs = new HashMap<>();
+
+    public static FormulaGraph getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the node for the given expression, compiling it when it is not yet part of this graph. Each call must be
+     * matched by a call to {@link #release(Node)}.
+     *
+     * @param owner
+     *            the formula that uses the expression. Stateful nodes are only shared between the expressions of the
+     *            same owner.
+     */
+    synchronized Node acquire(FormulaAst ast, Object owner) {
+        var node = nodes.get(new NodeKey(ast, null));
+        if (node == null) {
+            node = nodes.get(new NodeKey(ast, owner));
+        }
+        if (node == null) {
+            node = compile(ast, owner);
+            node.ast = ast;
+            nodes.put(new NodeKey(ast, node.owner), node);
+            if (node instanceof Operation && ((Operation) node).stateful) {
+                // Invalidation stops at nodes that were never evaluated. Start
+                // from the current input values, so that all later changes
+                // reach this node.
+                evaluateQuietly(node);
+            }
+        }
+        node.references++;
+        return node;
+    }
+
+    /**
+     * Releases a node that was returned by {@link #acquire(FormulaAst, Object)}. When it is no longer used, it is removed from
+     * the graph, and releases its own arguments.
+     */
+    synchronized void release(Node node) {
+        if (--node.references > 0) {
+            return;
+        }
+        nodes.remove(new NodeKey(node.ast, node.owner));
+        if (node instanceof Input) {
+            inputs.remove(((Input) node).channelName);
+        } else if (node instanceof Operation) {
+            var op = (Operation) node;
+            for (var arg : op.args) {
+                arg.parents.remove(op);
+                release(arg);
+            }
+        }
+    }
+
+    /**
+     * Reads and sets the value of a channel. Nodes that depend on it are invalidated if the value is different from the
+     * current.
+     * <p>
+     * The value is read while holding the lock of this graph. Formulas that share a channel may receive its updates on
+     * different threads, this ensures that a newer value is never replaced by an older one.
+     *
+     * @return the value of the channel
+     */
+    synchronized VType setInput(String channelName, Supplier<VType> supplier) {
+        return setInputs(Map.of(channelName, supplier)).get(channelName);
+    }
+
+    /**
+     * Reads and sets the values of multiple channels, as with {@link #setInput(String, Supplier)}.
+     * <p>
+     * Stateful nodes are calculated only once, after all values are set, so that a batch of updates counts as one
+     * change, and never exposes a mix of old and new values.
+     *
+     * @return the value of each channel
+     */
+    synchronized Map<String, VType> setInputs(Map<String, Supplier<VType>> suppliers) {
+        var values = new HashMap<String, VType>();
+        var stateful = new ArrayList<Operation>();
+        suppliers.forEach((channelName, supplier) -> {
+            var value = supplier.get();
+            values.put(channelName, value);
+            var input = inputs.get(channelName);
+            if (input != null && input.value != value) {
+                input.value = value;
+                input.invalidateParents(stateful);
+            }
+        });
+        for (var node : stateful) {
+            evaluateQuietly(node);
+        }
+        return values;
+    }
+
+    private static void evaluateQuietly(Node node) {
+        try {
+            node.evaluate();
+        } catch (RuntimeException e) {
+            // Reported when the formula is read
+        }
+    }
+
+    synchronized Object evaluate(Node node) {
+        return node.evaluate();
+    }
+
+    private Node compile(FormulaAst ast, Object owner) {
+        switch (ast.getType()) {
+        case OP:
+            var func = (String) ast.getValue();
+            var argNodes = ast.getChildren();
+            var args = new Node[argNodes.size()];
+            var allConstant = true;
+            var hasPrivateArgs = false;
+            for (var i = 0; i < args.length; i++) {
+                args[i] = acquire(argNodes.get(i), owner);
+                allConstant &= args[i] instanceof Constant;
+                hasPrivateArgs |= args[i].owner != null;
+            }
+            var functions = new ArrayList<>(registry.findFunctions(func, args.length));
+            var op = new Operation(func, args, functions);
+            if (op.stateful || hasPrivateArgs) {
+                op.owner = owner;
+            }
+            if (allConstant) {
+                try {
+                    var constant = new Constant(op.compute());
+                    for (var arg : args) {
+                        release(arg);
+                    }
+                    return constant;
+                } catch (RuntimeException e) {
+                    // Report the error on evaluation, as before
+                }
+            }
+            for (var arg : args) {
+                arg.addParent(op);
+            }
+            return op;
+        case INTEGER:
+            return new Constant(new IVInt((Integer) ast.getValue()));
+        case FLOATING_POINT:
+            return new Constant(new IVDouble((Double) ast.getValue()));
+        case STRING:
+            return new Constant(new IVString((String) ast.getValue()));
+        case CHANNEL:
+            var channelName = (String) ast.getValue();
+            return inputs.computeIfAbsent(channelName, Input::new);
+        case ID:
+            var id = (String) ast.getValue();
+            return new Constant(registry.findNamedConstant(id));
+        default:
+            throw new IllegalStateException("Unexpected node type " + ast.getType());
+        }
+    }
+
+    static abstract class Node {
+
+        // Nodes that use the value of this node
+        private final List<Operation> parents = new ArrayList<>(1);
+
+        private FormulaAst ast;
+        Object owner; // Null when shared between formulas
+        private int references;
+
+        abstract Object evaluate();
+
+        void addParent(Operation parent) {
+            if (!parents.contains(parent)) {
+                parents.add(parent);
+            }
+        }
+
+        void invalidateParents(List<Operation> stateful) {
+            for (var parent : parents) {
+                parent.invalidate(stateful);
+            }
+        }
+    }
+
+    private static class Constant extends Node {
+
+        private final Object value;
+
+        Constant(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        Object evaluate() {
+            return value;
+        }
+    }
+
+    private static class Input extends Node {
+
+        private final String channelName;
+        private VType value;
+
+        Input(String channelName) {
+            this.channelName = channelName;
+        }
+
+        @Override
+        Object evaluate() {
+            return value;
+        }
+    }
+
+    private static class Operation extends Node {
+
+        private final String name;
+        private final Node[] args;
+        private final List<FormulaFunction> candidates;
+        private final boolean stateful;
+
+        // State of the stateful function that was last used by this node
+        private FormulaFunction stateOwner;
+        private Object state;
+
+        // A valid operation implies that all of its arguments are valid too,
+        // so invalidation can stop at operations that are already invalid.
+        // A failed computation is valid as well, so that its next input
+        // change is not missed.
+        private boolean valid;
+        private Object value;
+        private RuntimeException error;
+
+        // Resolved function per argument types. Function matching only
+        // depends on the class of each argument (or on it being null).
+        private final Map<List<Class<?>>, FormulaFunction> resolved = new HashMap<>();
+        private Class<?>[] lastSignature;
+        private FormulaFunction lastFunction;
+
+        Operation(String name, Node[] args, List<FormulaFunction> candidates) {
+            this.name = name;
+            this.args = args;
+            this.candidates = candidates;
+            stateful = candidates.stream().anyMatch(StatefulFormulaFunction.class::isInstance);
+        }
+
+        @Override
+        Object evaluate() {
+            if (!valid) {
+                try {
+                    value = compute();
+                    error = null;
+                } catch (RuntimeException e) {
+                    value = null;
+                    error = e;
+                }
+                valid = true;
+            }
+            if (error != null) {
+                throw error;
+            }
+            return value;
+        }
+
+        void invalidate(List<Operation> statefulNodes) {
+            if (valid) {
+                valid = false;
+                value = null;
+                error = null;
+                if (stateful) {
+                    statefulNodes.add(this);
+                }
+                invalidateParents(statefulNodes);
+            } else if (owner != null) {
+                // Stateful, or depends on a stateful node that was not evaluated
+                // yet. It must still see this change.
+                if (stateful && !statefulNodes.contains(this)) {
+                    statefulNodes.add(this);
+                }
+                invalidateParents(statefulNodes);
+            }
+        }
+
+        Object compute() {
+            // A fresh argument list for each call: some functions return
+            // values that keep reading from it (e.g. arrayOf).
+            // All arguments are evaluated, also after a failure, so that each
+            // of them becomes valid and propagates its next change.
+            var argValues = new Object[args.length];
+            RuntimeException argError = null;
+            for (var i = 0; i < args.length; i++) {
+                try {
+                    argValues[i] = args[i].evaluate();
+                } catch (RuntimeException e) {
+                    if (argError == null) {
+                        argError = e;
+                    }
+                }
+            }
+            if (argError != null) {
+                throw argError;
+            }
+            var argList = Arrays.asList(argValues);
+            var function = resolve(argValues, argList);
+            if (function == null) {
+                throw new IllegalArgumentException("No function " + name + " matches arguments " + argList);
+            }
+            if (function instanceof StatefulFormulaFunction) {
+                var statefulFunction = (StatefulFormulaFunction) function;
+                if (stateOwner != function) {
+                    stateOwner = function;
+                    state = statefulFunction.createState();
+                }
+                return statefulFunction.calculate(state, argList);
+            }
+            return function.calculate(argList);
+        }
+
+        private FormulaFunction resolve(Object[] argValues, List<Object> argList) {
+            if (lastSignature != null && matchesLastSignature(argValues)) {
+                return lastFunction;
+            }
+
+            var signature = new Class<?>[argValues.length];
+            for (var i = 0; i < argValues.length; i++) {
+                signature[i] = argValues[i] != null ? argValues[i].getClass() : null;
+            }
+            var function = resolved.computeIfAbsent(Arrays.asList(signature),
+                    x -> FormulaFunctions.findFirstMatch(argList, candidates));
+            lastSignature = signature;
+            lastFunction = function;
+            return function;
+        }
+
+        private boolean matchesLastSignature(Object[] argValues) {
+            for (var i = 0; i < argValues.length; i++) {
+                var clazz = argValues[i] != null ? argValues[i].getClass() : null;
+                if (clazz != lastSignature[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class NodeKey {
+
+        private final FormulaAst ast;
+        private final Object owner;
+
+        NodeKey(FormulaAst ast, Object owner) {
+            this.ast = ast;
+            this.owner = owner;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof NodeKey)) {
+                return false;
+            }
+            var other = (NodeKey) obj;
+            return ast.equals(other.ast) && owner == other.owner;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * ast.hashCode() + System.identityHashCode(owner);
+        }
+    }
+}
@@ -37,6 +37,7 @@ import org.yamcs.studio.data.formula.venum.VEnumFunctionSet;
 import org.yamcs.studio.data.formula.vnumber.VNumberFunctionSet;
 import org.yamcs.studio.data.formula.vstring.VStringFunctionSet;
 import org.yamcs.studio.data.formula.vtable.VTableFunctionSet;
+import org.yamcs.studio.data.formula.window.WindowFunctionSet;
 import org.yamcs.studio.data.vtype.VType;
 import org.yamcs.studio.data.vtype.ValueFactory;
 
@@ -54,6 +55,7 @@ public class FormulaRegistry {
         registry.registerFormulaFunctionSet(new VNumberFunctionSet());
         registry.registerFormulaFunctionSet(new AlarmFunctionSet());
         registry.registerFormulaFunctionSet(new VEnumFunctionSet());
+        registry.registerFormulaFunctionSet(new WindowFunctionSet());
     }
 
     /**
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.formula;
+
+import java.util.List;
+
+/**
+ * A formula function that keeps state between calculations, for example a window of past samples.
+ * <p>
+ * Each {@link CompiledFormula} that uses the function gets its own state, which is discarded when the formula is
+ * removed from the {@link FormulaGraph}. Note that the formula PVs of all displays that use the same formula text share
+ * a single compiled formula, and so a single state.
+ * <p>
+ * The function is calculated each time one of its arguments changes, also when nobody reads the result in between, so
+ * that no sample is missed. Inputs that are updated together count as a single change.
+ */
+public interface StatefulFormulaFunction extends FormulaFunction {
+
+    /**
+     * Creates the initial state for a new expression.
+     */
+    Object createState();
+
+    /**
+     * Calculates the result and updates the state.
+     *
+     * @param state
+     *            the state, as created by {@link #createState()}
+     * @param args
+     *            the argument list
+     * @return the result of the function
+     */
+    Object calculate(Object state, List<Object> args);
+
+    /**
+     * Calculates the result starting from an initial state.
+     */
+    @Override
+    default Object calculate(List<Object> args) {
+        return calculate(createState(), args);
+    }
+}
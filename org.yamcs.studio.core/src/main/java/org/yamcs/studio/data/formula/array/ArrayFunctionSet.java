@@ -130,7 +130,24 @@ public class ArrayFunctionSet extends FormulaFunctionSet {
                     public ListNumber calculate(ListNumber array, double num) {
                         return ListMath.rescale(array, (1 / num), 0.0);
                     }
-                }).addFormulaFunction(new DftFormulaFunction()).addFormulaFunction(new ArrayRangeOfFormulaFunction())
+                }).addFormulaFunction(new DftFormulaFunction())
+                .addFormulaFunction(new SpectrumFormulaFunction("fftMagnitude", "Magnitude of the DFT of the argument") {
+                    @Override
+                    double calculate(double re, double im) {
+                        return Math.hypot(re, im);
+                    }
+                }).addFormulaFunction(new SpectrumFormulaFunction("fftPhase", "Phase of the DFT of the argument") {
+                    @Override
+                    double calculate(double re, double im) {
+                        return Math.atan2(im, re);
+                    }
+                }).addFormulaFunction(new SpectrumFormulaFunction("psd",
+                        "Power spectral density of the argument (squared magnitude of the DFT)") {
+                    @Override
+                    double calculate(double re, double im) {
+                        return re * re + im * im;
+                    }
+                }).addFormulaFunction(new ArrayRangeOfFormulaFunction())
                 .addFormulaFunction(new DimDisplayFormulaFunction()).addFormulaFunction(new NdArrayFormulaFunction()));
     }
 }
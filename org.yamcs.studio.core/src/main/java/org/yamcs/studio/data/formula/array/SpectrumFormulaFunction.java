@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.formula.array;
+
+import static org.yamcs.studio.data.vtype.ValueFactory.displayNone;
+import static org.yamcs.studio.data.vtype.ValueFactory.newVDoubleArray;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.yamcs.studio.data.formula.FormulaFunction;
+import org.yamcs.studio.data.vtype.ArrayDouble;
+import org.yamcs.studio.data.vtype.CollectionNumbers;
+import org.yamcs.studio.data.vtype.FourierTransform;
+import org.yamcs.studio.data.vtype.VNumberArray;
+
+/**
+ * Base class for functions that return one component of the discrete Fourier transform of a 1D array, as an array of
+ * the same length.
+ * <p>
+ * As with {@code dft}, the transform is normalized by the number of samples.
+ */
+abstract class SpectrumFormulaFunction implements FormulaFunction {
+
+    private final String name;
+    private final String description;
+
+    SpectrumFormulaFunction(String name, String description) {
+        this.name = name;
+        this.description = description;
+    }
+
+    @Override
+    public boolean isVarArgs() {
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public List<Class<?>> getArgumentTypes() {
+        return Arrays.<Class<?>> asList(VNumberArray.class);
+    }
+
+    @Override
+    public List<String> getArgumentNames() {
+        return Arrays.asList("array1D");
+    }
+
+    @Override
+    public Class<?> getReturnType() {
+        return VNumberArray.class;
+    }
+
+    @Override
+    public Object calculate(List<Object> args) {
+        var array = (VNumberArray) args.get(0);
+        if (array == null) {
+            return null;
+        }
+        if (array.getSizes().size() != 1) {
+            throw new IllegalArgumentException("Only 1D array supported for " + name);
+        }
+
+        var re = CollectionNumbers.doubleArrayCopyOf(array.getData());
+        var im = new double[re.length];
+        FourierTransform.transform(re, im);
+
+        var result = new double[re.length];
+        for (var i = 0; i < re.length; i++) {
+            result[i] = calculate(re[i] / re.length, im[i] / re.length);
+        }
+        return newVDoubleArray(new ArrayDouble(result), highestSeverityOf(args, false), latestValidTimeOrNowOf(args),
+                displayNone());
+    }
+
+    /**
+     * Calculates the output value of one frequency bin.
+     *
+     * @param re
+     *            real part of the normalized transform
+     * @param im
+     *            imaginary part of the normalized transform
+     */
+    abstract double calculate(double re, double im);
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.formula.window;
+
+/**
+ * The last N samples of a scalar value, with running statistics that are updated in constant (amortized) time per
+ * sample.
+ */
+class SampleWindow {
+
+    private double[] samples = new double[0];
+    private int count;
+    private long added; // Total number of samples added since the last reset
+
+    private double sum;
+    private double sumOfSquares;
+
+    // Sequence numbers of the samples that may still become the minimum (or maximum)
+    // of the window, with increasing (or decreasing) values.
+    private long[] minCandidates = new long[0];
+    private long[] maxCandidates = new long[0];
+    private int minHead, minSize;
+    private int maxHead, maxSize;
+
+    /**
+     * Sets the number of samples in the window. Changing it discards all samples.
+     */
+    void setCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Window size must be at least 1");
+        }
+        if (capacity != samples.length) {
+            samples = new double[capacity];
+            minCandidates = new long[capacity];
+            maxCandidates = new long[capacity];
+            count = 0;
+            added = 0;
+            sum = 0;
+            sumOfSquares = 0;
+            minHead = minSize = 0;
+            maxHead = maxSize = 0;
+        }
+    }
+
+    void add(double value) {
+        var capacity = samples.length;
+        var slot = (int) (added % capacity);
+        if (count == capacity) {
+            var old = samples[slot];
+            sum -= old;
+            sumOfSquares -= old * old;
+        } else {
+            count++;
+        }
+        samples[slot] = value;
+        sum += value;
+        sumOfSquares += value * value;
+        var seq = added++;
+
+        // Running sums drift when values are removed again. Start over from the exact
+        // samples each time the window has been fully replaced.
+        if (slot == capacity - 1) {
+            sum = 0;
+            sumOfSquares = 0;
+            for (var i = 0; i < count; i++) {
+                sum += samples[i];
+                sumOfSquares += samples[i] * samples[i];
+            }
+        }
+
+        // Drop the candidate that fell out of the window (its slot was just reused)
+        if (minSize > 0 && minCandidates[minHead] <= seq - capacity) {
+            minHead = (minHead + 1) % capacity;
+            minSize--;
+        }
+        if (maxSize > 0 && maxCandidates[maxHead] <= seq - capacity) {
+            maxHead = (maxHead + 1) % capacity;
+            maxSize--;
+        }
+
+        // Samples that are no better than the new one can never be the extreme again
+        while (minSize > 0 && valueOf(minCandidates[(minHead + minSize - 1) % capacity]) >= value) {
+            minSize--;
+        }
+        minCandidates[(minHead + minSize++) % capacity] = seq;
+        while (maxSize > 0 && valueOf(maxCandidates[(maxHead + maxSize - 1) % capacity]) <= value) {
+            maxSize--;
+        }
+        maxCandidates[(maxHead + maxSize++) % capacity] = seq;
+    }
+
+    private double valueOf(long seq) {
+        return samples[(int) (seq % samples.length)];
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    double getAverage() {
+        return sum / count;
+    }
+
+    double getRms() {
+        return Math.sqrt(Math.max(0, sumOfSquares) / count);
+    }
+
+    double getMin() {
+        return valueOf(minCandidates[minHead]);
+    }
+
+    double getMax() {
+        return valueOf(maxCandidates[maxHead]);
+    }
+}
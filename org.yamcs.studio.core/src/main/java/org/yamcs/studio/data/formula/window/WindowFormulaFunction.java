@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.formula.window;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.yamcs.studio.data.formula.StatefulFormulaFunction;
+import org.yamcs.studio.data.vtype.VNumber;
+
+/**
+ * Base class for functions that take a numeric value and a window size, and calculate a result over the last samples
+ * of that value.
+ */
+abstract class WindowFormulaFunction implements StatefulFormulaFunction {
+
+    private static final List<Class<?>> argumentTypes = Arrays.<Class<?>> asList(VNumber.class, VNumber.class);
+    private static final List<String> argumentNames = Arrays.asList("value", "n");
+
+    private final String name;
+    private final String description;
+    private final Class<?> returnType;
+
+    WindowFormulaFunction(String name, String description, Class<?> returnType) {
+        this.name = name;
+        this.description = description;
+        this.returnType = returnType;
+    }
+
+    @Override
+    public final boolean isVarArgs() {
+        return false;
+    }
+
+    @Override
+    public final String getName() {
+        return name;
+    }
+
+    @Override
+    public final String getDescription() {
+        return description;
+    }
+
+    @Override
+    public final List<Class<?>> getArgumentTypes() {
+        return argumentTypes;
+    }
+
+    @Override
+    public final List<String> getArgumentNames() {
+        return argumentNames;
+    }
+
+    @Override
+    public final Class<?> getReturnType() {
+        return returnType;
+    }
+
+    @Override
+    public final Object createState() {
+        return new SampleWindow();
+    }
+
+    @Override
+    public final Object calculate(Object state, List<Object> args) {
+        var value = (VNumber) args.get(0);
+        var n = (VNumber) args.get(1);
+        if (value == null || n == null) {
+            return null;
+        }
+
+        var window = (SampleWindow) state;
+        window.setCapacity(n.getValue().intValue());
+        window.add(value.getValue().doubleValue());
+        return calculate(window, value);
+    }
+
+    /**
+     * Calculates the result after the latest sample was added to the window.
+     *
+     * @param window
+     *            the window, with at least one sample
+     * @param value
+     *            the latest sample, for alarm and time information
+     */
+    abstract Object calculate(SampleWindow window, VNumber value);
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.formula.window;
+
+import static org.yamcs.studio.data.vtype.ValueFactory.displayNone;
+import static org.yamcs.studio.data.vtype.ValueFactory.newVDouble;
+import static org.yamcs.studio.data.vtype.ValueFactory.newVDoubleArray;
+
+import org.yamcs.studio.data.formula.FormulaFunctionSet;
+import org.yamcs.studio.data.formula.FormulaFunctionSetDescription;
+import org.yamcs.studio.data.formula.StatefulFormulaFunction;
+import org.yamcs.studio.data.vtype.ArrayDouble;
+import org.yamcs.studio.data.vtype.VNumber;
+import org.yamcs.studio.data.vtype.VNumberArray;
+
+/**
+ * Formula functions that calculate statistics over the last samples of a numeric value. A sample is added each time
+ * one of the arguments changes, which includes the window size n.
+ * <p>
+ * Displays that use the same formula share a single window, see {@link StatefulFormulaFunction}.
+ */
+public class WindowFunctionSet extends FormulaFunctionSet {
+
+    public WindowFunctionSet() {
+        super(new FormulaFunctionSetDescription("window", "Statistics over the last n samples of a value")
+                .addFormulaFunction(new WindowFormulaFunction("movingAvg", "Average of the last n samples",
+                        VNumber.class) {
+                    @Override
+                    Object calculate(SampleWindow window, VNumber value) {
+                        return newVDouble(window.getAverage(), value, value, displayNone());
+                    }
+                }).addFormulaFunction(new WindowFormulaFunction("movingRms", "Root mean square of the last n samples",
+                        VNumber.class) {
+                    @Override
+                    Object calculate(SampleWindow window, VNumber value) {
+                        return newVDouble(window.getRms(), value, value, displayNone());
+                    }
+                }).addFormulaFunction(new WindowFormulaFunction("windowMin", "Minimum of the last n samples",
+                        VNumber.class) {
+                    @Override
+                    Object calculate(SampleWindow window, VNumber value) {
+                        return newVDouble(window.getMin(), value, value, displayNone());
+                    }
+                }).addFormulaFunction(new WindowFormulaFunction("windowMax", "Maximum of the last n samples",
+                        VNumber.class) {
+                    @Override
+                    Object calculate(SampleWindow window, VNumber value) {
+                        return newVDouble(window.getMax(), value, value, displayNone());
+                    }
+                }).addFormulaFunction(new WindowFormulaFunction("windowMinMax",
+                        "Minimum and maximum of the last n samples, as a 2-element array", VNumberArray.class) {
+                    @Override
+                    Object calculate(SampleWindow window, VNumber value) {
+                        return newVDoubleArray(new ArrayDouble(window.getMin(), window.getMax()), value, value,
+                                displayNone());
+                    }
+                }));
+    }
+}
@@ -68,6 +68,12 @@ public class CollectionNumbers {
         if (coll instanceof ArrayFloat) {
             return ((ArrayFloat) coll).wrappedArray();
         }
+        if (coll instanceof DeferredArray) {
+            var array = ((DeferredArray) coll).array();
+            if (array instanceof float[]) {
+                return (float[]) array;
+            }
+        }
 
         return null;
     }
@@ -85,6 +91,12 @@ public class CollectionNumbers {
         if (coll instanceof ArrayDouble) {
             return ((ArrayDouble) coll).wrappedArray();
         }
+        if (coll instanceof DeferredArray) {
+            var array = ((DeferredArray) coll).array();
+            if (array instanceof double[]) {
+                return (double[]) array;
+            }
+        }
 
         return null;
     }
@@ -102,6 +114,12 @@ public class CollectionNumbers {
         if (coll instanceof ArrayByte) {
             return ((ArrayByte) coll).wrappedArray();
         }
+        if (coll instanceof DeferredArray) {
+            var array = ((DeferredArray) coll).array();
+            if (array instanceof byte[]) {
+                return (byte[]) array;
+            }
+        }
 
         return null;
     }
@@ -119,6 +137,12 @@ public class CollectionNumbers {
         if (coll instanceof ArrayShort) {
             return ((ArrayShort) coll).wrappedArray();
         }
+        if (coll instanceof DeferredArray) {
+            var array = ((DeferredArray) coll).array();
+            if (array instanceof short[]) {
+                return (short[]) array;
+            }
+        }
 
         return null;
     }
@@ -136,6 +160,12 @@ public class CollectionNumbers {
         if (coll instanceof ArrayInt) {
             return ((ArrayInt) coll).wrappedArray();
         }
+        if (coll instanceof DeferredArray) {
+            var array = ((DeferredArray) coll).array();
+            if (array instanceof int[]) {
+                return (int[]) array;
+            }
+        }
 
         return null;
     }
@@ -153,6 +183,12 @@ public class CollectionNumbers {
         if (coll instanceof ArrayLong) {
             return ((ArrayLong) coll).wrappedArray();
         }
+        if (coll instanceof DeferredArray) {
+            var array = ((DeferredArray) coll).array();
+            if (array instanceof long[]) {
+                return (long[]) array;
+            }
+        }
 
         return null;
     }
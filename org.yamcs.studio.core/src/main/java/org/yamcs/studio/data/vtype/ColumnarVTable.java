@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.vtype;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A selection of rows of another table, stored column by column.
+ * <p>
+ * Columns are only copied when first requested, and then kept in primitive arrays (numbers) or array lists (other
+ * types). A selection of a {@code ColumnarVTable} is resolved against the original table, so that chained selections
+ * don't stack views on top of each other.
+ */
+class ColumnarVTable implements VTable {
+
+    private final VTable source;
+    private final ListInt rows;
+
+    // Materialized columns, filled on first access
+    private final Object[] columns;
+
+    private ColumnarVTable(VTable source, ListInt rows) {
+        this.source = source;
+        this.rows = rows;
+        columns = new Object[source.getColumnCount()];
+    }
+
+    /**
+     * Returns a table with the rows at the given indexes of the provided table, in the order of the indexes.
+     */
+    static ColumnarVTable select(VTable table, ListInt indexes) {
+        if (table instanceof ColumnarVTable) {
+            var columnar = (ColumnarVTable) table;
+            var sourceRows = new int[indexes.size()];
+            for (var i = 0; i < sourceRows.length; i++) {
+                sourceRows[i] = columnar.rows.getInt(indexes.getInt(i));
+            }
+            return new ColumnarVTable(columnar.source, new ArrayInt(sourceRows));
+        }
+        return new ColumnarVTable(table, indexes);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public Class<?> getColumnType(int column) {
+        return source.getColumnType(column);
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return source.getColumnName(column);
+    }
+
+    @Override
+    public Object getColumnData(int column) {
+        // Racing threads would only both build the same immutable column
+        var data = columns[column];
+        if (data == null) {
+            data = materialize(source.getColumnType(column), source.getColumnData(column));
+            columns[column] = data;
+        }
+        return data;
+    }
+
+    private Object materialize(Class<?> type, Object data) {
+        if (data instanceof ListNumber) {
+            var numbers = (ListNumber) data;
+            if (type == float.class) {
+                var result = new float[rows.size()];
+                for (var i = 0; i < result.length; i++) {
+                    result[i] = numbers.getFloat(rows.getInt(i));
+                }
+                return new ArrayFloat(result);
+            } else if (type == long.class) {
+                var result = new long[rows.size()];
+                for (var i = 0; i < result.length; i++) {
+                    result[i] = numbers.getLong(rows.getInt(i));
+                }
+                return new ArrayLong(result);
+            } else if (type == int.class) {
+                var result = new int[rows.size()];
+                for (var i = 0; i < result.length; i++) {
+                    result[i] = numbers.getInt(rows.getInt(i));
+                }
+                return new ArrayInt(result);
+            } else if (type == short.class) {
+                var result = new short[rows.size()];
+                for (var i = 0; i < result.length; i++) {
+                    result[i] = numbers.getShort(rows.getInt(i));
+                }
+                return new ArrayShort(result);
+            } else if (type == byte.class) {
+                var result = new byte[rows.size()];
+                for (var i = 0; i < result.length; i++) {
+                    result[i] = numbers.getByte(rows.getInt(i));
+                }
+                return new ArrayByte(result);
+            } else {
+                var result = new double[rows.size()];
+                for (var i = 0; i < result.length; i++) {
+                    result[i] = numbers.getDouble(rows.getInt(i));
+                }
+                return new ArrayDouble(result);
+            }
+        } else if (data instanceof List) {
+            var list = (List<?>) data;
+            var result = new ArrayList<>(rows.size());
+            for (var i = 0; i < rows.size(); i++) {
+                result.add(list.get(rows.getInt(i)));
+            }
+            return Collections.unmodifiableList(result);
+        } else {
+            throw new IllegalArgumentException("Unsupported column data " + data);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return VTypeToString.toString(this);
+    }
+}
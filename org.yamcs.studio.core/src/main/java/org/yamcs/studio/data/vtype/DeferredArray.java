@@ -0,0 +1,25 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.vtype;
+
+/**
+ * A number collection that reads its elements from another representation, and only copies them into a primitive array
+ * when that array is first requested.
+ */
+public interface DeferredArray {
+
+    /**
+     * Returns a primitive array with all elements of this collection. The array is created on first call, and then
+     * reused - USE WITH CAUTION AS IT EXPOSES THE INTERNAL STATE OF THE COLLECTION.
+     *
+     * @return the array, for example a double[] or int[]
+     */
+    Object array();
+}
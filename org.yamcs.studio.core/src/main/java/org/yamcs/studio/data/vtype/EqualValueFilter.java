@@ -14,13 +14,12 @@ import java.util.Objects;
 
 public class EqualValueFilter {
 
-    private final List<VTable> tables;
-    private final int[] columnIndexes;
     private final Class<?> type;
 
+    // Column data of each table, fetched once
+    private final Object[] columnData;
+
     public EqualValueFilter(List<VTable> tables, int[] columnIndexes) {
-        this.tables = tables;
-        this.columnIndexes = columnIndexes;
         Class<?> firstTableType = tables.get(0).getColumnType(columnIndexes[0]);
         if (firstTableType.isPrimitive()) {
             type = double.class;
@@ -42,25 +41,48 @@ public class EqualValueFilter {
                 }
             }
         }
+        columnData = new Object[columnIndexes.length];
+        for (var i = 0; i < columnIndexes.length; i++) {
+            columnData[i] = tables.get(i).getColumnData(columnIndexes[i]);
+        }
     }
 
     public boolean filterRow(int[] rowIndexes) {
         if (type == double.class) {
-            var value = ((ListNumber) tables.get(0).getColumnData(columnIndexes[0])).getDouble(rowIndexes[0]);
+            var value = ((ListNumber) columnData[0]).getDouble(rowIndexes[0]);
             for (var i = 1; i < rowIndexes.length; i++) {
-                if (value != ((ListNumber) tables.get(i).getColumnData(columnIndexes[i])).getDouble(rowIndexes[i])) {
+                if (value != ((ListNumber) columnData[i]).getDouble(rowIndexes[i])) {
                     return false;
                 }
             }
         } else {
-            var value = ((List<?>) tables.get(0).getColumnData(columnIndexes[0])).get(rowIndexes[0]);
+            var value = ((List<?>) columnData[0]).get(rowIndexes[0]);
             for (var i = 1; i < rowIndexes.length; i++) {
-                if (!Objects.equals(value,
-                        ((List<?>) tables.get(i).getColumnData(columnIndexes[i])).get(rowIndexes[i]))) {
+                if (!Objects.equals(value, ((List<?>) columnData[i]).get(rowIndexes[i]))) {
                     return false;
                 }
             }
         }
         return true;
     }
+
+    /**
+     * Returns a key for the value of a row in one of the tables. Two rows match this filter if their keys are equal.
+     *
+     * @param tableIndex
+     *            the index of the table
+     * @param rowIndex
+     *            the index of the row within that table
+     */
+    public Object keyOf(int tableIndex, int rowIndex) {
+        if (type == double.class) {
+            var value = ((ListNumber) columnData[tableIndex]).getDouble(rowIndex);
+            if (Double.isNaN(value)) {
+                return new Object(); // NaN is not equal to anything
+            }
+            return value == 0 ? 0.0 : value; // -0.0 == 0.0
+        } else {
+            return ((List<?>) columnData[tableIndex]).get(rowIndex);
+        }
+    }
 }
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.vtype;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Fast Fourier transform on primitive arrays.
+ * <p>
+ * Lengths that are a power of two use an iterative radix-2 transform. Other lengths are rewritten as a convolution of
+ * power-of-two length (Bluestein's algorithm), so that any length runs in O(n log n).
+ * <p>
+ * Twiddle factors and chirp sequences only depend on the length, and are cached for reuse by later transforms.
+ */
+public class FourierTransform {
+
+    // Only a handful of distinct lengths are expected, but don't grow without bounds
+    private static final int MAX_CACHED_PLANS = 64;
+
+    private static final Map<Integer, Radix2Plan> radix2Plans = new ConcurrentHashMap<>();
+    private static final Map<Integer, BluesteinPlan> bluesteinPlans = new ConcurrentHashMap<>();
+
+    private FourierTransform() {
+    }
+
+    /**
+     * Calculates the forward transform in place. The result is not normalized.
+     *
+     * @param re
+     *            real part of the input, replaced with the real part of the result
+     * @param im
+     *            imaginary part of the input, replaced with the imaginary part of the result
+     */
+    public static void transform(double[] re, double[] im) {
+        if (re.length != im.length) {
+            throw new IllegalArgumentException("Real and imaginary part must be of the same length");
+        }
+        var n = re.length;
+        if (n <= 1) {
+            return;
+        }
+        if (Integer.bitCount(n) == 1) {
+            getPlan(radix2Plans, n, Radix2Plan::new).transform(re, im);
+        } else {
+            getPlan(bluesteinPlans, n, BluesteinPlan::new).transform(re, im);
+        }
+    }
+
+    private static <T> T getPlan(Map<Integer, T> plans, int n, IntFunction<T> factory) {
+        var plan = plans.get(n);
+        if (plan == null) {
+            if (plans.size() >= MAX_CACHED_PLANS) {
+                plans.clear();
+            }
+            plan = plans.computeIfAbsent(n, factory::apply);
+        }
+        return plan;
+    }
+
+    private static class Radix2Plan {
+
+        private final int n;
+        private final int[] bitReversed;
+        private final double[] cos;
+        private final double[] sin;
+
+        Radix2Plan(int n) {
+            this.n = n;
+            var levels = Integer.numberOfTrailingZeros(n);
+            bitReversed = new int[n];
+            for (var i = 0; i < n; i++) {
+                bitReversed[i] = Integer.reverse(i) >>> (32 - levels);
+            }
+            cos = new double[n / 2];
+            sin = new double[n / 2];
+            for (var i = 0; i < n / 2; i++) {
+                var angle = -2 * Math.PI * i / n;
+                cos[i] = Math.cos(angle);
+                sin[i] = Math.sin(angle);
+            }
+        }
+
+        void transform(double[] re, double[] im) {
+            for (var i = 0; i < n; i++) {
+                var j = bitReversed[i];
+                if (j > i) {
+                    var tmp = re[i];
+                    re[i] = re[j];
+                    re[j] = tmp;
+                    tmp = im[i];
+                    im[i] = im[j];
+                    im[j] = tmp;
+                }
+            }
+
+            for (var size = 2; size <= n; size *= 2) {
+                var half = size / 2;
+                var step = n / size;
+                for (var start = 0; start < n; start += size) {
+                    for (var k = 0; k < half; k++) {
+                        var wr = cos[k * step];
+                        var wi = sin[k * step];
+                        var a = start + k;
+                        var b = a + half;
+                        var tr = re[b] * wr - im[b] * wi;
+                        var ti = re[b] * wi + im[b] * wr;
+                        re[b] = re[a] - tr;
+                        im[b] = im[a] - ti;
+                        re[a] += tr;
+                        im[a] += ti;
+                    }
+                }
+            }
+        }
+    }
+
+    private static class BluesteinPlan {
+
+        private final int n;
+        private final Radix2Plan convolution;
+
+        // exp(-i * pi * k^2 / n)
+        private final double[] chirpRe;
+        private final double[] chirpIm;
+
+        // Transform of the conjugated chirp, padded to the convolution length
+        private final double[] filterRe;
+        private final double[] filterIm;
+
+        BluesteinPlan(int n) {
+            this.n = n;
+            var m = Integer.highestOneBit(2 * n - 1) << 1;
+            convolution = getPlan(radix2Plans, m, Radix2Plan::new);
+
+            chirpRe = new double[n];
+            chirpIm = new double[n];
+            for (var k = 0; k < n; k++) {
+                // Reduce k^2 modulo 2n to keep the angle precise for large k
+                var angle = Math.PI * ((long) k * k % (2L * n)) / n;
+                chirpRe[k] = Math.cos(angle);
+                chirpIm[k] = -Math.sin(angle);
+            }
+
+            filterRe = new double[m];
+            filterIm = new double[m];
+            filterRe[0] = chirpRe[0];
+            filterIm[0] = -chirpIm[0];
+            for (var k = 1; k < n; k++) {
+                filterRe[k] = filterRe[m - k] = chirpRe[k];
+                filterIm[k] = filterIm[m - k] = -chirpIm[k];
+            }
+            convolution.transform(filterRe, filterIm);
+        }
+
+        void transform(double[] re, double[] im) {
+            var m = filterRe.length;
+            var ar = new double[m];
+            var ai = new double[m];
+            for (var k = 0; k < n; k++) {
+                ar[k] = re[k] * chirpRe[k] - im[k] * chirpIm[k];
+                ai[k] = re[k] * chirpIm[k] + im[k] * chirpRe[k];
+            }
+            convolution.transform(ar, ai);
+
+            // Multiply with the filter, and conjugate so that the forward
+            // transform can be used as inverse transform.
+            for (var k = 0; k < m; k++) {
+                var r = ar[k] * filterRe[k] - ai[k] * filterIm[k];
+                var i = ar[k] * filterIm[k] + ai[k] * filterRe[k];
+                ar[k] = r;
+                ai[k] = -i;
+            }
+            convolution.transform(ar, ai);
+
+            for (var k = 0; k < n; k++) {
+                var cr = ar[k] / m;
+                var ci = -ai[k] / m;
+                re[k] = cr * chirpRe[k] - ci * chirpIm[k];
+                im[k] = cr * chirpIm[k] + ci * chirpRe[k];
+            }
+        }
+    }
+}
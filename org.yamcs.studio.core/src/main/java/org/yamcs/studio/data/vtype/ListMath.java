@@ -332,7 +332,7 @@ public class ListMath {
     }
 
     /**
-     * XXX: This is just a prototype
+     * Discrete Fourier transform, normalized by the number of samples.
      *
      * @param x
      *            real part
@@ -345,30 +345,15 @@ public class ListMath {
             throw new IllegalArgumentException("Real and imaginary part must be of the same length");
         }
 
-        double cosarg, sinarg;
-        var resX = new double[x.size()];
-        var resY = new double[x.size()];
-        var direction = 1; // -1 would be inverse
-        double size = x.size();
+        var resX = CollectionNumbers.doubleArrayCopyOf(x);
+        var resY = CollectionNumbers.doubleArrayCopyOf(y);
+        FourierTransform.transform(resX, resY);
 
-        for (var i = 0; i < x.size(); i++) {
-            var arg = -direction * 2.0 * Math.PI * i / size;
-            for (var k = 0; k < x.size(); k++) {
-                cosarg = Math.cos(k * arg);
-                sinarg = Math.sin(k * arg);
-                resX[i] += (x.getDouble(k) * cosarg - y.getDouble(k) * sinarg);
-                resY[i] += (x.getDouble(k) * sinarg + y.getDouble(k) * cosarg);
-            }
-        }
-
-        if (direction == 1) {
-            for (var i = 0; i < x.size(); i++) {
-                resX[i] = resX[i] / size;
-                resY[i] = resY[i] / size;
-            }
-            return Arrays.<ListNumber> asList(new ArrayDouble(resX), new ArrayDouble(resY));
-        } else {
-            return Arrays.<ListNumber> asList(new ArrayDouble(resY), new ArrayDouble(resX));
+        double size = resX.length;
+        for (var i = 0; i < resX.length; i++) {
+            resX[i] = resX[i] / size;
+            resY[i] = resY[i] / size;
         }
+        return Arrays.<ListNumber> asList(new ArrayDouble(resX), new ArrayDouble(resY));
     }
 }
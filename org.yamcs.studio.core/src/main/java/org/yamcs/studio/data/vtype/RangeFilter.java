@@ -13,14 +13,17 @@ import java.util.List;
 
 public class RangeFilter {
 
-    private final VTable table;
-    private final int columnIndex;
-    private final Object min;
-    private final Object max;
+    // Column data and boundaries, resolved once for all rows
+    private ListNumber numberData;
+    private double minNumber;
+    private double maxNumber;
+    private List<String> stringData;
+    private String minString;
+    private String maxString;
 
+    @SuppressWarnings("unchecked")
     public RangeFilter(VTable table, String columnName, Object min, Object max) {
-        this.table = table;
-        columnIndex = VTableFactory.columnNames(table).indexOf(columnName);
+        var columnIndex = VTableFactory.columnNames(table).indexOf(columnName);
         if (columnIndex == -1) {
             throw new IllegalArgumentException("Table does not contain column '" + columnName + "'");
         }
@@ -38,23 +41,24 @@ public class RangeFilter {
         } else {
             throw new UnsupportedOperationException("Equal value filter only works on numbers and strings");
         }
-        this.min = min;
-        this.max = max;
+        if (min instanceof VNumber) {
+            numberData = (ListNumber) table.getColumnData(columnIndex);
+            minNumber = ((VNumber) min).getValue().doubleValue();
+            maxNumber = ((VNumber) max).getValue().doubleValue();
+        } else {
+            stringData = (List<String>) table.getColumnData(columnIndex);
+            minString = ((VString) min).getValue();
+            maxString = ((VString) max).getValue();
+        }
     }
 
     public boolean filterRow(int rowIndex) {
-        if (min instanceof VNumber) {
-            var columnValue = ((ListNumber) table.getColumnData(columnIndex)).getDouble(rowIndex);
-            var minValue = ((VNumber) min).getValue().doubleValue();
-            var maxValue = ((VNumber) max).getValue().doubleValue();
-            return columnValue >= minValue && columnValue < maxValue;
-        } else if (min instanceof VString) {
-            @SuppressWarnings("unchecked")
-            var columnData = (List<String>) table.getColumnData(columnIndex);
-            var columnValue = columnData.get(rowIndex);
-            var minValue = ((VString) min).getValue();
-            var maxValue = ((VString) max).getValue();
-            return minValue.compareTo(columnValue) <= 0 && maxValue.compareTo(columnValue) > 0;
+        if (numberData != null) {
+            var columnValue = numberData.getDouble(rowIndex);
+            return columnValue >= minNumber && columnValue < maxNumber;
+        } else if (stringData != null) {
+            var columnValue = stringData.get(rowIndex);
+            return minString.compareTo(columnValue) <= 0 && maxString.compareTo(columnValue) > 0;
         }
         throw new IllegalStateException("Unexpected error");
     }
@@ -71,41 +71,39 @@ public class VTableFactory {
             filters.add(new EqualValueFilter(Arrays.asList(tables), indexes));
         }
 
-        // Find rows
-        var done = false;
+        // Find rows, joining one table at a time. The rows of the next table are indexed
+        // by the values of the common columns, which are then looked up for each row
+        // joined so far. Rows come out in the same order as a nested loop would give.
         List<BufferInt> rowIndexes = new ArrayList<>();
         for (var i = 0; i < tables.length; i++) {
             rowIndexes.add(new BufferInt());
-            if (tables[i].getRowCount() == 0) {
-                done = true;
-            }
         }
-        var currentIndexes = new int[tables.length];
-        while (!done) {
-            var match = true;
-            for (var filter : filters) {
-                match = match && filter.filterRow(currentIndexes);
-            }
-            if (match) {
-                for (var i = 0; i < currentIndexes.length; i++) {
-                    rowIndexes.get(i).addInt(currentIndexes[i]);
-                }
-            }
-            var needsIncrement = true;
-            var offset = currentIndexes.length - 1;
-            while (needsIncrement) {
-                currentIndexes[offset]++;
-                if (currentIndexes[offset] == tables[offset].getRowCount()) {
-                    currentIndexes[offset] = 0;
-                    offset--;
-                    if (offset == -1) {
-                        done = true;
-                        needsIncrement = false;
+        for (var row = 0; row < tables[0].getRowCount(); row++) {
+            rowIndexes.get(0).addInt(row);
+        }
+        for (var i = 1; i < tables.length; i++) {
+            var index = new HashMap<Object, BufferInt>();
+            for (var row = 0; row < tables[i].getRowCount(); row++) {
+                index.computeIfAbsent(joinKey(filters, i, row), x -> new BufferInt()).addInt(row);
+            }
+
+            var joined = new ArrayList<BufferInt>();
+            for (var j = 0; j < tables.length; j++) {
+                joined.add(new BufferInt());
+            }
+            var rowCount = rowIndexes.get(0).size();
+            for (var n = 0; n < rowCount; n++) {
+                var matches = index.get(joinKey(filters, 0, rowIndexes.get(0).getInt(n)));
+                if (matches != null) {
+                    for (var m = 0; m < matches.size(); m++) {
+                        for (var j = 0; j < i; j++) {
+                            joined.get(j).addInt(rowIndexes.get(j).getInt(n));
+                        }
+                        joined.get(i).addInt(matches.getInt(m));
                     }
-                } else {
-                    needsIncrement = false;
                 }
             }
+            rowIndexes = joined;
         }
 
         var columnNames = new ArrayList<String>();
@@ -143,6 +141,17 @@ public class VTableFactory {
         return ValueFactory.newVTable(columnTypes, columnNames, columnData);
     }
 
+    private static Object joinKey(List<EqualValueFilter> filters, int table, int row) {
+        if (filters.size() == 1) {
+            return filters.get(0).keyOf(table, row);
+        }
+        var key = new Object[filters.size()];
+        for (var i = 0; i < key.length; i++) {
+            key[i] = filters.get(i).keyOf(table, row);
+        }
+        return Arrays.asList(key);
+    }
+
     public static VTable union(VString extraColumnName, VStringArray extraColumnData, VTable... tables) {
         // Prune nulls
         var extraColumnDataPruned = new ArrayList<String>();
@@ -216,15 +225,6 @@ public class VTableFactory {
         return ValueFactory.newVTable(columnTypes, columnNames, columnData);
     }
 
-    private static Object selectColumnData(VTable table, int column, ListInt indexes) {
-        var type = table.getColumnType(column);
-        if (type.isPrimitive()) {
-            return ListNumbers.listView((ListNumber) table.getColumnData(column), indexes);
-        } else {
-            return createView((List<?>) table.getColumnData(column), indexes);
-        }
-    }
-
     private static <T> List<T> createView(List<T> list, ListInt indexes) {
         return new AbstractList<>() {
             @Override
@@ -239,32 +239,8 @@ public class VTableFactory {
         };
     }
 
-    private static Object createView(Object columnData, ListInt indexes) {
-        if (columnData instanceof List) {
-            var data = (List<?>) columnData;
-            return createView(data, indexes);
-        } else if (columnData instanceof ListNumber) {
-            return ListNumbers.listView((ListNumber) columnData, indexes);
-        } else {
-            throw new IllegalArgumentException("Unsupported column data " + columnData);
-        }
-    }
-
     public static VTable select(VTable table, ListInt indexes) {
-        var names = columnNames(table);
-        var types = columnTypes(table);
-        var data = new AbstractList<>() {
-            @Override
-            public Object get(int index) {
-                return selectColumnData(table, index, indexes);
-            }
-
-            @Override
-            public int size() {
-                return table.getColumnCount();
-            }
-        };
-        return ValueFactory.newVTable(types, names, data);
+        return ColumnarVTable.select(table, indexes);
     }
 
     public static VTable newVTable(Column... columns) {
@@ -436,15 +412,7 @@ public class VTableFactory {
         if (vTable == null || indexes == null) {
             return null;
         }
-        var columnNames = new ArrayList<String>(vTable.getColumnCount());
-        var columnTypes = new ArrayList<Class<?>>(vTable.getColumnCount());
-        var columnData = new ArrayList<>(vTable.getColumnCount());
-        for (var nCol = 0; nCol < vTable.getColumnCount(); nCol++) {
-            columnNames.add(vTable.getColumnName(nCol));
-            columnTypes.add(vTable.getColumnType(nCol));
-            columnData.add(createView(vTable.getColumnData(nCol), indexes));
-        }
-        return ValueFactory.newVTable(columnTypes, columnNames, columnData);
+        return select(vTable, indexes);
     }
 
     private static Object extractColumnData(Object columnData, int... rows) {
@@ -14,13 +14,15 @@ import java.util.Objects;
 
 public class ValueFilter {
 
-    private final VTable table;
-    private final int columnIndex;
-    private final Object value;
+    // Column data and value, resolved once for all rows
+    private ListNumber numberData;
+    private double numberValue;
+    private List<String> stringData;
+    private String stringValue;
 
+    @SuppressWarnings("unchecked")
     public ValueFilter(VTable table, String columnName, Object value) {
-        this.table = table;
-        columnIndex = VTableFactory.columnNames(table).indexOf(columnName);
+        var columnIndex = VTableFactory.columnNames(table).indexOf(columnName);
         if (columnIndex == -1) {
             throw new IllegalArgumentException("Table does not contain column '" + columnName + "'");
         }
@@ -38,17 +40,20 @@ public class ValueFilter {
         } else {
             throw new UnsupportedOperationException("Equal value filter only works on numbers and strings");
         }
-        this.value = value;
+        if (value instanceof VNumber) {
+            numberData = (ListNumber) table.getColumnData(columnIndex);
+            numberValue = ((VNumber) value).getValue().doubleValue();
+        } else {
+            stringData = (List<String>) table.getColumnData(columnIndex);
+            stringValue = ((VString) value).getValue();
+        }
     }
 
     public boolean filterRow(int rowIndex) {
-        if (value instanceof VNumber) {
-            var columnValue = ((ListNumber) table.getColumnData(columnIndex)).getDouble(rowIndex);
-            return columnValue == ((VNumber) value).getValue().doubleValue();
-        } else if (value instanceof VString) {
-            @SuppressWarnings("unchecked")
-            var columnData = (List<String>) table.getColumnData(columnIndex);
-            return Objects.equals(columnData.get(rowIndex), ((VString) value).getValue());
+        if (numberData != null) {
+            return numberData.getDouble(rowIndex) == numberValue;
+        } else if (stringData != null) {
+            return Objects.equals(stringData.get(rowIndex), stringValue);
         }
         throw new IllegalStateException("Unexpected error");
     }
@@ -13,7 +13,6 @@ import java.util.List;
 
 import org.yamcs.protobuf.Pvalue.ParameterValue;
 import org.yamcs.studio.data.vtype.ArrayDimensionDisplay;
-import org.yamcs.studio.data.vtype.ArrayDouble;
 import org.yamcs.studio.data.vtype.ArrayInt;
 import org.yamcs.studio.data.vtype.ListDouble;
 import org.yamcs.studio.data.vtype.ListInt;
@@ -26,7 +25,7 @@ public class DoubleArrayVType extends YamcsVType implements VDoubleArray {
     private ListInt sizes;
     private List<ArrayDimensionDisplay> dimensionDisplay;
 
-    private ArrayDouble data;
+    private ListDouble data;
 
     public DoubleArrayVType(ParameterValue pval, boolean raw) {
         super(pval, raw);
@@ -34,12 +33,7 @@ public class DoubleArrayVType extends YamcsVType implements VDoubleArray {
         var size = value.getArrayValueCount();
         sizes = new ArrayInt(size);
         dimensionDisplay = ValueUtil.defaultArrayDisplay(sizes);
-
-        var doubleValues = new double[size];
-        for (var i = 0; i < doubleValues.length; i++) {
-            doubleValues[i] = value.getArrayValue(i).getDoubleValue();
-        }
-        data = new ArrayDouble(doubleValues);
+        data = new ValueListDouble(value);
     }
 
     @Override
@@ -13,7 +13,6 @@ import java.util.List;
 
 import org.yamcs.protobuf.Pvalue.ParameterValue;
 import org.yamcs.studio.data.vtype.ArrayDimensionDisplay;
-import org.yamcs.studio.data.vtype.ArrayFloat;
 import org.yamcs.studio.data.vtype.ArrayInt;
 import org.yamcs.studio.data.vtype.ListFloat;
 import org.yamcs.studio.data.vtype.ListInt;
@@ -34,12 +33,7 @@ public class FloatArrayVType extends YamcsVType implements VFloatArray {
         var size = value.getArrayValueCount();
         sizes = new ArrayInt(size);
         dimensionDisplay = ValueUtil.defaultArrayDisplay(sizes);
-
-        var floatValues = new float[size];
-        for (var i = 0; i < floatValues.length; i++) {
-            floatValues[i] = value.getArrayValue(i).getFloatValue();
-        }
-        data = new ArrayFloat(floatValues);
+        data = new ValueListFloat(value);
     }
 
     @Override
@@ -24,7 +24,7 @@ public class Sint32ArrayVType extends YamcsVType implements VIntArray {
     private ListInt sizes;
     private List<ArrayDimensionDisplay> dimensionDisplay;
 
-    private ArrayInt data;
+    private ListInt data;
 
     public Sint32ArrayVType(ParameterValue pval, boolean raw) {
         super(pval, raw);
@@ -32,12 +32,7 @@ public class Sint32ArrayVType extends YamcsVType implements VIntArray {
         var size = value.getArrayValueCount();
         sizes = new ArrayInt(size);
         dimensionDisplay = ValueUtil.defaultArrayDisplay(sizes);
-
-        var intValues = new int[size];
-        for (var i = 0; i < intValues.length; i++) {
-            intValues[i] = value.getArrayValue(i).getSint32Value();
-        }
-        data = new ArrayInt(intValues);
+        data = new ValueListInt(value);
     }
 
     @Override
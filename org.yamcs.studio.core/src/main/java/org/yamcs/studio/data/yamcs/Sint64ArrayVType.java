@@ -12,9 +12,9 @@ package org.yamcs.studio.data.yamcs;
 import java.util.List;
 
 import org.yamcs.protobuf.Pvalue.ParameterValue;
+import org.yamcs.protobuf.Yamcs.Value;
 import org.yamcs.studio.data.vtype.ArrayDimensionDisplay;
 import org.yamcs.studio.data.vtype.ArrayInt;
-import org.yamcs.studio.data.vtype.ArrayLong;
 import org.yamcs.studio.data.vtype.ListInt;
 import org.yamcs.studio.data.vtype.ListLong;
 import org.yamcs.studio.data.vtype.VLongArray;
@@ -26,7 +26,7 @@ public class Sint64ArrayVType extends YamcsVType implements VLongArray {
     private ListInt sizes;
     private List<ArrayDimensionDisplay> dimensionDisplay;
 
-    private ArrayLong data;
+    private ListLong data;
 
     public Sint64ArrayVType(ParameterValue pval, boolean raw) {
         super(pval, raw);
@@ -34,12 +34,7 @@ public class Sint64ArrayVType extends YamcsVType implements VLongArray {
         var size = value.getArrayValueCount();
         sizes = new ArrayInt(size);
         dimensionDisplay = ValueUtil.defaultArrayDisplay(sizes);
-
-        var longValues = new long[size];
-        for (var i = 0; i < longValues.length; i++) {
-            longValues[i] = value.getArrayValue(i).getSint64Value();
-        }
-        data = new ArrayLong(longValues);
+        data = new ValueListLong(value, Value::getSint64Value);
     }
 
     @Override
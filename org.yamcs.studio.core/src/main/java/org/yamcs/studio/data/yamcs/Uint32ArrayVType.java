@@ -14,7 +14,6 @@ import java.util.List;
 import org.yamcs.protobuf.Pvalue.ParameterValue;
 import org.yamcs.studio.data.vtype.ArrayDimensionDisplay;
 import org.yamcs.studio.data.vtype.ArrayInt;
-import org.yamcs.studio.data.vtype.ArrayLong;
 import org.yamcs.studio.data.vtype.ListInt;
 import org.yamcs.studio.data.vtype.ListLong;
 import org.yamcs.studio.data.vtype.VLongArray;
@@ -34,12 +33,7 @@ public class Uint32ArrayVType extends YamcsVType implements VLongArray {
         var size = value.getArrayValueCount();
         sizes = new ArrayInt(size);
         dimensionDisplay = ValueUtil.defaultArrayDisplay(sizes);
-
-        var longValues = new long[size];
-        for (var i = 0; i < longValues.length; i++) {
-            longValues[i] = value.getArrayValue(i).getUint32Value() & 0xFFFFFFFFL;
-        }
-        data = new ArrayLong(longValues);
+        data = new ValueListLong(value, v -> v.getUint32Value() & 0xFFFFFFFFL);
     }
 
     @Override
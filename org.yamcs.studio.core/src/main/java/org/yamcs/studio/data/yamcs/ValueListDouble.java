@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.yamcs;
+
+import org.yamcs.protobuf.Yamcs.Value;
+import org.yamcs.studio.data.vtype.DeferredArray;
+import org.yamcs.studio.data.vtype.ListDouble;
+
+/**
+ * Read-only view on the elements of an array {@link Value}, without copying them. A double[] is only created when the
+ * elements are requested in bulk.
+ */
+class ValueListDouble extends ListDouble implements DeferredArray {
+
+    private final Value value;
+    private volatile double[] array;
+
+    ValueListDouble(Value value) {
+        this.value = value;
+    }
+
+    @Override
+    public int size() {
+        return value.getArrayValueCount();
+    }
+
+    @Override
+    public double getDouble(int index) {
+        var array = this.array;
+        if (array != null) {
+            return array[index];
+        }
+        return value.getArrayValue(index).getDoubleValue();
+    }
+
+    @Override
+    public double[] array() {
+        var result = array;
+        if (result == null) { // Benign race, at worst copied twice
+            result = new double[value.getArrayValueCount()];
+            for (var i = 0; i < result.length; i++) {
+                result[i] = getDouble(i);
+            }
+            array = result;
+        }
+        return result;
+    }
+}
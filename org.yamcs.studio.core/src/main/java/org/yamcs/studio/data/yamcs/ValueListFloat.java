@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.yamcs;
+
+import org.yamcs.protobuf.Yamcs.Value;
+import org.yamcs.studio.data.vtype.DeferredArray;
+import org.yamcs.studio.data.vtype.ListFloat;
+
+/**
+ * Read-only view on the elements of an array {@link Value}, without copying them. A float[] is only created when the
+ * elements are requested in bulk.
+ */
+class ValueListFloat extends ListFloat implements DeferredArray {
+
+    private final Value value;
+    private volatile float[] array;
+
+    ValueListFloat(Value value) {
+        this.value = value;
+    }
+
+    @Override
+    public int size() {
+        return value.getArrayValueCount();
+    }
+
+    @Override
+    public float getFloat(int index) {
+        var array = this.array;
+        if (array != null) {
+            return array[index];
+        }
+        return value.getArrayValue(index).getFloatValue();
+    }
+
+    @Override
+    public float[] array() {
+        var result = array;
+        if (result == null) { // Benign race, at worst copied twice
+            result = new float[value.getArrayValueCount()];
+            for (var i = 0; i < result.length; i++) {
+                result[i] = getFloat(i);
+            }
+            array = result;
+        }
+        return result;
+    }
+}
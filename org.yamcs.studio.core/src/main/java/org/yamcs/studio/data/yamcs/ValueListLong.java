@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Space Applications Services and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.yamcs.studio.data.yamcs;
+
+import java.util.function.ToLongFunction;
+
+import org.yamcs.protobuf.Yamcs.Value;
+import org.yamcs.studio.data.vtype.DeferredArray;
+import org.yamcs.studio.data.vtype.ListLong;
+
+/**
+ * Read-only view on the elements of an array {@link Value}, without copying them. A long[] is only created when the
+ * elements are requested in bulk.
+ * <p>
+ * The accessor extracts the value of a single element, which allows to use this for signed as well as unsigned types.
+ */
+class ValueListLong extends ListLong implements DeferredArray {
+
+    private final Value value;
+    private final ToLongFunction<Value> accessor;
+    private volatile long[] array;
+
+    ValueListLong(Value value, ToLongFunction<Value> accessor) {
+        this.value = value;
+        this.accessor = accessor;
+    }
+
+    @Override
+    public int size() {
+        return value.getArrayValueCount();
+    }
+
+    @Override
+    public long getLong(int index) {
+        var array = this.array;
+        if (array != null) {
+            return array[index];
+        }
+        return accessor.applyAsLong(value.getArrayValue(index));
+    }
+
+    @Override
+    public long[] array() {
+        var result = array;
+        if (result == null) { // Benign race, at worst copied twice
+            result = new long[value.getArrayValueCount()];
+            for (var i = 0; i < result.length; i++) {
+                result[i] = getLong(i);
+            }
+            array = result;
+        }
+        return result;
+    }
+}
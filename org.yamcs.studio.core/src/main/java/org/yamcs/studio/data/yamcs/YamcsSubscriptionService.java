@@ -9,16 +9,18 @@
  *******************************************************************************/
 package org.yamcs.studio.data.yamcs;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -36,93 +38,77 @@ import org.yamcs.studio.data.vtype.VType;
 /**
  * Keeps track of {@link IPV} registration state and takes care of establishing or re-establishing a bundled parameter
  * subscription against Yamcs.
+ * <p>
+ * By default all parameters go through a single subscription. Setting the system property
+ * {@value #PROP_SHARDS} to a value larger than 1 hash-partitions parameter ids across that many subscriptions, each
+ * with its own decode and dispatch thread. Updates of any one parameter are always handled by the same shard, so they
+ * remain ordered.
  */
-public class YamcsSubscriptionService implements YamcsAware, ParameterSubscription.Listener, PluginService {
+public class YamcsSubscriptionService implements YamcsAware, PluginService {
 
     private static final Logger log = Logger.getLogger(YamcsSubscriptionService.class.getName());
 
-    private Map<NamedObjectId, Set<IPV>> pvsById = new LinkedHashMap<>();
+    public static final String PROP_SHARDS = "yamcs.studio.subscriptionShards";
 
-    private ParameterSubscription subscription;
-    private AtomicBoolean subscriptionDirty = new AtomicBoolean(false);
-    private ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private Shard[] shards;
+
+    // Thread on which ParameterValueListeners are notified. When sharding,
+    // this is a separate thread, so that listeners see the merged updates
+    // of all shards in a serialized manner.
+    private ExecutorService listenerExecutor;
 
     private Set<ParameterValueListener> parameterValueListeners = new HashSet<>();
 
     public YamcsSubscriptionService() {
-
-        // Periodically check if the subscription needs a refresh
-        // (PVs send individual events, so this bundles them)
-        executor.scheduleWithFixedDelay(() -> {
-            if (subscriptionDirty.getAndSet(false) && subscription != null) {
-                var ids = getRequestedIdentifiers();
-                log.fine(String.format("Modifying subscription to %s", ids));
-                subscription.sendMessage(
-                        SubscribeParametersRequest.newBuilder().setAction(Action.REPLACE).setSendFromCache(true)
-                                .setAbortOnInvalid(false).setUpdateOnExpiration(true).addAllId(ids).build());
-            }
-        }, 500, 500, TimeUnit.MILLISECONDS);
+        var shardCount = Math.max(1, Integer.getInteger(PROP_SHARDS, 1));
+        shards = new Shard[shardCount];
+        for (var i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+        if (shardCount == 1) {
+            listenerExecutor = shards[0].executor;
+        } else {
+            log.fine(String.format("Partitioning parameter subscription across %s shards", shardCount));
+            listenerExecutor = Executors.newSingleThreadExecutor();
+        }
 
         YamcsPlugin.addListener(this);
     }
 
-    private Set<NamedObjectId> getRequestedIdentifiers() {
-        return pvsById.entrySet().stream().filter(entry -> !entry.getValue().isEmpty()).map(Entry::getKey)
-                .collect(Collectors.toSet());
+    private Shard shardOf(NamedObjectId id) {
+        return shards[Math.floorMod(id.hashCode(), shards.length)];
     }
 
+    /**
+     * Returns whether the parameter subscription is established. When sharding, this requires the subscriptions of all
+     * shards.
+     */
     public boolean isSubscriptionAvailable() {
-        return subscription != null;
+        for (var shard : shards) {
+            if (shard.subscription == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the subscription that covers the given PV is established.
+     */
+    public boolean isSubscriptionAvailable(String pvName) {
+        return shardOf(identityOf(pvName)).subscription != null;
     }
 
     public VType getValue(String pvName) {
         var id = identityOf(pvName);
-        if (subscription != null) {
-            var pval = subscription.get(id);
-            if (pval != null) {
-                var raw = pvName.startsWith("raw://");
-                return YamcsVType.fromYamcs(pval, raw);
-            }
-        }
-        return null;
+        return shardOf(id).getValue(id, pvName.startsWith("raw://"));
     }
 
     @Override
     public void changeProcessor(String instance, String processor) {
-        executor.execute(() -> {
-            if (subscription != null) {
-                subscription.cancel(true);
-                subscription = null;
-                pvsById.forEach((id, pvs) -> {
-                    pvs.forEach(pv -> {
-                        pv.notifyConnectionChange();
-                        pv.notifyValueChange();
-                        pv.notifyWritePermissionChange();
-                    });
-                });
-            }
-
-            if (processor != null) {
-                subscription = YamcsPlugin.getYamcsClient().createParameterSubscription();
-                subscription.addListener(this);
-
-                // Reset connection and value state
-                pvsById.forEach((id, pvs) -> {
-                    pvs.forEach(pv -> {
-                        pv.notifyConnectionChange();
-                        pv.notifyValueChange();
-                        pv.notifyWritePermissionChange();
-                    });
-                });
-
-                // Ready to receive some data
-                var ids = getRequestedIdentifiers();
-                log.fine(String.format("Subscribing to %s [%s/%s]", ids, instance, processor));
-                subscription.sendMessage(SubscribeParametersRequest.newBuilder().setInstance(instance)
-                        .setProcessor(processor).setSendFromCache(true).setAbortOnInvalid(false)
-                        .setUpdateOnExpiration(true).addAllId(ids).build());
-            }
-        });
+        for (var shard : shards) {
+            shard.changeProcessor(instance, processor);
+        }
     }
 
     /**
@@ -130,11 +116,7 @@ public class YamcsSubscriptionService implements YamcsAware, ParameterSubscripti
      */
     public void register(IPV pv) {
         var id = identityOf(pv.getName());
-        executor.execute(() -> {
-            var pvs = pvsById.computeIfAbsent(id, x -> new HashSet<>());
-            pvs.add(pv);
-            subscriptionDirty.set(true);
-        });
+        shardOf(id).register(id, pv);
     }
 
     /**
@@ -142,50 +124,197 @@ public class YamcsSubscriptionService implements YamcsAware, ParameterSubscripti
      */
     public void unregister(IPV pv) {
         var id = identityOf(pv.getName());
-        executor.execute(() -> {
-            var pvs = pvsById.get(id);
-            if (pvs != null) {
-                var removed = pvs.remove(pv);
-                if (removed) {
-                    subscriptionDirty.set(true);
-                }
-            }
-        });
+        shardOf(id).unregister(id, pv);
     }
 
     @Override
     public void dispose() {
         YamcsPlugin.removeListener(this);
-        executor.shutdown();
-    }
-
-    @Override
-    public void onData(List<ParameterValue> values) {
-        executor.execute(() -> {
-            for (var pval : values) {
-                var pvs = pvsById.get(pval.getId());
-                if (pvs != null) {
-                    pvs.forEach(IPV::notifyValueChange);
-                }
-            }
-            parameterValueListeners.forEach(l -> l.onData(values));
-        });
+        for (var shard : shards) {
+            shard.executor.shutdown();
+        }
+        listenerExecutor.shutdown();
     }
 
     public void addParameterValueListener(ParameterValueListener listener) {
         parameterValueListeners.add(listener);
     }
 
-    @Override
-    public void onInvalidIdentification(NamedObjectId id) {
-        executor.execute(() -> {
-            // We keep the id in pvsById, we want to again receive the invalid
-            // identification when the subscription is updated.
-            var pvs = pvsById.get(id);
-            if (pvs != null) {
-                pvs.forEach(IPV::setInvalid);
+    private void notifyParameterValueListeners(List<ParameterValue> values) {
+        if (!parameterValueListeners.isEmpty()) {
+            listenerExecutor.execute(() -> parameterValueListeners.forEach(l -> l.onData(values)));
+        }
+    }
+
+    /**
+     * A single parameter subscription, covering a subset of all requested ids. All state is confined to the thread of
+     * the shard's executor, except for the decoded values which may be read from any thread.
+     */
+    private class Shard implements ParameterSubscription.Listener {
+
+        private Map<NamedObjectId, Set<IPV>> pvsById = new LinkedHashMap<>();
+
+        // Latest value of each parameter, decoded only once and shared between all PVs
+        // (VType instances are immutable, so they can safely be handed out to any thread)
+        private Map<NamedObjectId, DecodedValue> decodedById = new ConcurrentHashMap<>();
+
+        private volatile ParameterSubscription subscription;
+
+        // Subscription changes that have not yet been sent to Yamcs.
+        private Set<NamedObjectId> pendingAdditions = new HashSet<>();
+        private Set<NamedObjectId> pendingRemovals = new HashSet<>();
+
+        // Ids that Yamcs reported as invalid for the current subscription. These are
+        // not reported again when another PV registers on them.
+        private Set<NamedObjectId> invalidIds = new HashSet<>();
+
+        private ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+        Shard() {
+            // Periodically send pending subscription changes
+            // (PVs send individual events, so this bundles them)
+            executor.scheduleWithFixedDelay(() -> {
+                if (subscription != null) {
+                    if (!pendingRemovals.isEmpty()) {
+                        log.fine(String.format("Removing %s from subscription", pendingRemovals));
+                        subscription.sendMessage(SubscribeParametersRequest.newBuilder().setAction(Action.REMOVE)
+                                .addAllId(pendingRemovals).build());
+                    }
+                    if (!pendingAdditions.isEmpty()) {
+                        log.fine(String.format("Adding %s to subscription", pendingAdditions));
+                        subscription.sendMessage(
+                                SubscribeParametersRequest.newBuilder().setAction(Action.ADD).setSendFromCache(true)
+                                        .setAbortOnInvalid(false).setUpdateOnExpiration(true)
+                                        .addAllId(pendingAdditions).build());
+                    }
+                }
+                pendingAdditions.clear();
+                pendingRemovals.clear();
+            }, 500, 500, TimeUnit.MILLISECONDS);
+        }
+
+        private Set<NamedObjectId> getRequestedIdentifiers() {
+            return pvsById.entrySet().stream().filter(entry -> !entry.getValue().isEmpty()).map(Entry::getKey)
+                    .collect(Collectors.toSet());
+        }
+
+        VType getValue(NamedObjectId id, boolean raw) {
+            var subscription = this.subscription;
+            if (subscription != null) {
+                var decoded = decodedById.get(id);
+                if (decoded != null) {
+                    return decoded.get(raw);
+                }
+
+                // Not (yet) seen through onData
+                var pval = subscription.get(id);
+                if (pval != null) {
+                    return YamcsVType.fromYamcs(pval, raw);
+                }
             }
-        });
+            return null;
+        }
+
+        void changeProcessor(String instance, String processor) {
+            executor.execute(() -> {
+                if (subscription != null) {
+                    subscription.cancel(true);
+                    subscription = null;
+                    decodedById.clear();
+                    invalidIds.clear();
+                    pvsById.forEach((id, pvs) -> {
+                        pvs.forEach(pv -> {
+                            pv.notifyConnectionChange();
+                            pv.notifyValueChange();
+                            pv.notifyWritePermissionChange();
+                        });
+                    });
+                }
+
+                if (processor != null) {
+                    subscription = YamcsPlugin.getYamcsClient().createParameterSubscription();
+                    subscription.addListener(this);
+
+                    // Reset connection and value state
+                    pvsById.forEach((id, pvs) -> {
+                        pvs.forEach(pv -> {
+                            pv.notifyConnectionChange();
+                            pv.notifyValueChange();
+                            pv.notifyWritePermissionChange();
+                        });
+                    });
+
+                    // Ready to receive some data. This already covers
+                    // any pending changes.
+                    pendingAdditions.clear();
+                    pendingRemovals.clear();
+                    var ids = getRequestedIdentifiers();
+                    log.fine(String.format("Subscribing to %s [%s/%s]", ids, instance, processor));
+                    subscription.sendMessage(SubscribeParametersRequest.newBuilder().setInstance(instance)
+                            .setProcessor(processor).setSendFromCache(true).setAbortOnInvalid(false)
+                            .setUpdateOnExpiration(true).addAllId(ids).build());
+                }
+            });
+        }
+
+        void register(NamedObjectId id, IPV pv) {
+            executor.execute(() -> {
+                var pvs = pvsById.computeIfAbsent(id, x -> new HashSet<>());
+                if (pvs.isEmpty()) {
+                    if (!pendingRemovals.remove(id)) {
+                        pendingAdditions.add(id);
+                    }
+                }
+                pvs.add(pv);
+                if (invalidIds.contains(id)) {
+                    pv.setInvalid();
+                }
+            });
+        }
+
+        void unregister(NamedObjectId id, IPV pv) {
+            executor.execute(() -> {
+                var pvs = pvsById.get(id);
+                if (pvs != null) {
+                    var removed = pvs.remove(pv);
+                    if (removed && pvs.isEmpty()) {
+                        decodedById.remove(id);
+                        if (!pendingAdditions.remove(id)) {
+                            pendingRemovals.add(id);
+                        }
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void onData(List<ParameterValue> values) {
+            executor.execute(() -> {
+                var updatedPvs = new ArrayList<IPV>();
+                for (var pval : values) {
+                    var pvs = pvsById.get(pval.getId());
+                    if (pvs != null && !pvs.isEmpty()) {
+                        decodedById.put(pval.getId(), new DecodedValue(pval, pvs));
+                        updatedPvs.addAll(pvs);
+                    }
+                }
+                IPV.notifyValueChanges(updatedPvs);
+                notifyParameterValueListeners(values);
+            });
+        }
+
+        @Override
+        public void onInvalidIdentification(NamedObjectId id) {
+            executor.execute(() -> {
+                // We keep the id in pvsById, we want to again receive the invalid
+                // identification when the subscription is re-established.
+                invalidIds.add(id);
+                var pvs = pvsById.get(id);
+                if (pvs != null) {
+                    pvs.forEach(IPV::setInvalid);
+                }
+            });
+        }
     }
 
     public static NamedObjectId identityOf(String pvName) {
@@ -201,6 +330,52 @@ public class YamcsSubscriptionService implements YamcsAware, ParameterSubscripti
         }
     }
 
+    /**
+     * Eng and raw {@link VType} of a single {@link ParameterValue}. Variants that are in use by registered PVs are
+     * decoded upfront, others only on first request.
+     */
+    private static final class DecodedValue {
+
+        private final ParameterValue pval;
+        private volatile YamcsVType eng;
+        private volatile YamcsVType raw;
+
+        DecodedValue(ParameterValue pval, Set<IPV> pvs) {
+            this.pval = pval;
+            var needsEng = false;
+            var needsRaw = false;
+            for (var pv : pvs) {
+                if (pv.getName().startsWith("raw://")) {
+                    needsRaw = true;
+                } else {
+                    needsEng = true;
+                }
+            }
+            if (needsEng) {
+                eng = YamcsVType.fromYamcs(pval, false);
+            }
+            if (needsRaw) {
+                raw = YamcsVType.fromYamcs(pval, true);
+            }
+        }
+
+        YamcsVType get(boolean raw) {
+            if (raw) {
+                var result = this.raw;
+                if (result == null) { // Benign race, at worst decoded twice
+                    result = this.raw = YamcsVType.fromYamcs(pval, true);
+                }
+                return result;
+            } else {
+                var result = eng;
+                if (result == null) {
+                    result = eng = YamcsVType.fromYamcs(pval, false);
+                }
+                return result;
+            }
+        }
+    }
+
     @FunctionalInterface
     public interface ParameterValueListener {
         void onData(List<ParameterValue> values);